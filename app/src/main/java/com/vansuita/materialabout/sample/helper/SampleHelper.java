@@ -2,6 +2,7 @@ package com.vansuita.materialabout.sample.helper;
 
 import android.app.Activity;
 import android.content.Intent;
+import android.content.res.TypedArray;
 import android.view.View;
 import android.widget.FrameLayout;
 
@@ -16,6 +17,7 @@ public class SampleHelper implements View.OnClickListener {
 
     private Activity activity;
     private int theme = R.style.AppThemeDark;
+    private AboutView aboutView;
 
     private SampleHelper(Activity activity) {
         this.activity = activity;
@@ -81,33 +83,37 @@ public class SampleHelper implements View.OnClickListener {
                 .setWrapScrollView(true)
                 .setShowAsCard(true);
 
-        AboutView view = builder.build();
+        aboutView = builder.build();
 
-        flHolder.addView(view);
+        flHolder.addView(aboutView);
     }
 
 
+    private void switchTheme(int theme) {
+        if (this.theme == theme)
+            return;
+
+        this.theme = theme;
+
+        TypedArray a = activity.obtainStyledAttributes(theme, new int[]{android.R.attr.windowBackground});
+        activity.getWindow().setBackgroundDrawable(a.getDrawable(0));
+        a.recycle();
+
+        aboutView.applyTheme(theme);
+    }
+
     @Override
     public void onClick(View view) {
         switch (view.getId()) {
             case R.id.dark:
-                if (theme != R.style.AppThemeDark) {
-                    theme = R.style.AppThemeDark;
-                    activity.recreate();
-                }
+                switchTheme(R.style.AppThemeDark);
                 break;
             case R.id.light:
-                if (theme != R.style.AppThemeLight) {
-                    theme = R.style.AppThemeLight;
-                    activity.recreate();
-                }
+                switchTheme(R.style.AppThemeLight);
                 break;
 
             case R.id.custom:
-                if (theme != R.style.AppThemeCustom) {
-                    theme = R.style.AppThemeCustom;
-                    activity.recreate();
-                }
+                switchTheme(R.style.AppThemeCustom);
                 break;
 
             default:
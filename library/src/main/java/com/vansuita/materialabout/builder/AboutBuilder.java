@@ -14,10 +14,12 @@ import com.vansuita.materialabout.util.ColorUtil;
 import com.vansuita.materialabout.util.IconUtil;
 import com.vansuita.materialabout.util.IntentUtil;
 import com.vansuita.materialabout.views.AboutView;
+import com.vansuita.materialabout.views.AnimatedCoverDrawable;
 
 import java.util.LinkedList;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.cardview.widget.CardView;
 
 import static com.vansuita.materialabout.R.mipmap.share;
@@ -41,6 +43,10 @@ public final class AboutBuilder {
     private int photoRes = -1;
     private Bitmap cover;
     private int coverRes = -1;
+    private byte[] animatedCover;
+    private int animatedCoverMaxMemory = AnimatedCoverDrawable.DEFAULT_MAX_RING_BYTES;
+    private int coverBlurRadius = 0;
+    private int coverScrimColor = 0;
     private boolean circularPhoto = true;
     private Bitmap appIcon;
     private int appIconRes = -1;
@@ -49,6 +55,7 @@ public final class AboutBuilder {
     private int briefColor;
     private int iconColor;
     private int backgroundColor;
+    private boolean autoTheme = false;
     private boolean showDivider = true;
     private int dividerColor = 0;
     private int dividerHeight = 4;
@@ -57,10 +64,19 @@ public final class AboutBuilder {
     private boolean linksAnimated = true;
     private int linksColumnsCount = 5;
     private int actionsColumnsCount = 2;
+    private int linksMinCellWidth = 0;
+    private int actionsMinCellWidth = 0;
+    private boolean virtualizedItems = false;
+    private boolean renderAsList = false;
+    private boolean flatGrids = false;
+    private boolean flatLayout = false;
+    private boolean lowOverdraw = false;
+    private boolean linksUniformCells = false;
+    private boolean actionsUniformCells = false;
     private boolean wrapScrollView = false;
     private boolean showAsCard = true;
-    private LinkedList<Item> links = new LinkedList<>();
-    private LinkedList<Item> actions = new LinkedList<>();
+    private ItemList links = new ItemList();
+    private ItemList actions = new ItemList();
     /**
      * @deprecated Used {@link #with(Context)} instead.
      */
@@ -167,6 +183,30 @@ public final class AboutBuilder {
         return links.getLast();
     }
 
+    /**
+     * Makes the last action added take more than one column, e.g. to feature it
+     *
+     * @param span number of columns
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setLastActionSpan(int span) {
+        getLastAction().setSpan(span);
+        return this;
+    }
+
+    /**
+     * Makes the last link added take more than one column, e.g. to feature it
+     *
+     * @param span number of columns
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setLastLinkSpan(int span) {
+        getLastLink().setSpan(span);
+        return this;
+    }
+
     /**
      * Displays the app version below the app name
      *
@@ -1891,6 +1931,88 @@ public final class AboutBuilder {
         return setCover(IconUtil.getBitmap(cover));
     }
 
+    public byte[] getAnimatedCover() {
+        return animatedCover;
+    }
+
+    /**
+     * Sets an animated GIF or WebP about cover. Frames are decoded off the UI thread
+     * and the animation pauses while the cover is off screen.
+     *
+     * @param cover the encoded image
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setAnimatedCover(byte[] cover) {
+        this.animatedCover = cover;
+        return this;
+    }
+
+    /**
+     * Sets an animated GIF or WebP about cover. Frames are decoded off the UI thread
+     * and the animation pauses while the cover is off screen.
+     *
+     * @param cover the raw resource of the image
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setAnimatedCover(int cover) {
+        return setAnimatedCover(IconUtil.getBytes(context, cover));
+    }
+
+    public int getAnimatedCoverMaxMemory() {
+        return animatedCoverMaxMemory;
+    }
+
+    /**
+     * Sets the maximum memory used by the decoded frames of the animated cover.
+     * Frames are downscaled to fit it.
+     *
+     * @param bytes the limit in bytes
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setAnimatedCoverMaxMemory(int bytes) {
+        this.animatedCoverMaxMemory = bytes;
+        return this;
+    }
+
+    public int getCoverBlurRadius() {
+        return coverBlurRadius;
+    }
+
+    /**
+     * Blurs the cover. The blur runs once in background on a downscaled copy and is cached.
+     *
+     * @param radius the blur radius, in pixels of the downscaled copy. Around 4 to 12 works well.
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setCoverBlurRadius(int radius) {
+        this.coverBlurRadius = radius;
+        return this;
+    }
+
+    public int getCoverScrimColor() {
+        return coverScrimColor;
+    }
+
+    /**
+     * Draws a gradient over the cover, from transparent at the top to this color at the bottom.
+     *
+     * @param color the color resource or the real color.
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setCoverScrimColor(int color) {
+        this.coverScrimColor = ColorUtil.get(context, color);
+        return this;
+    }
+
+    public boolean hasCoverEffect() {
+        return coverBlurRadius > 0 || coverScrimColor != 0;
+    }
+
     public Bitmap getAppIcon() {
         return appIcon;
     }
@@ -2025,6 +2147,23 @@ public final class AboutBuilder {
         return this;
     }
 
+    public boolean isAutoTheme() {
+        return autoTheme;
+    }
+
+    /**
+     * Derives the name, sub title, brief, icon and divider colors from the cover (or the photo
+     * when there is no cover). Colors set explicitly still win.
+     *
+     * @param autoTheme true if you want it
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setAutoTheme(boolean autoTheme) {
+        this.autoTheme = autoTheme;
+        return this;
+    }
+
     public int getLinksColumnsCount() {
         return linksColumnsCount;
     }
@@ -2057,6 +2196,171 @@ public final class AboutBuilder {
         return this;
     }
 
+    public int getLinksMinCellWidth() {
+        return linksMinCellWidth;
+    }
+
+    /**
+     * Fits as many link columns as the card width allows, each at least this wide.
+     * The columns follow the width on tablets and multi-window resizes, overriding
+     * {@link #setLinksColumnsCount(int)}.
+     *
+     * @param dp minimum cell width in dp, or 0 to use the columns count
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setLinksMinCellWidth(int dp) {
+        this.linksMinCellWidth = dp;
+        return this;
+    }
+
+    public int getActionsMinCellWidth() {
+        return actionsMinCellWidth;
+    }
+
+    /**
+     * Fits as many action columns as the card width allows, each at least this wide.
+     * The columns follow the width on tablets and multi-window resizes, overriding
+     * {@link #setActionsColumnsCount(int)}.
+     *
+     * @param dp minimum cell width in dp, or 0 to use the columns count
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setActionsMinCellWidth(int dp) {
+        this.actionsMinCellWidth = dp;
+        return this;
+    }
+
+    public boolean isVirtualizedItems() {
+        return virtualizedItems;
+    }
+
+    /**
+     * Backs the links and actions sections by recycled grids, so only the cells on screen are
+     * inflated and bound. Meant for hundreds of items, e.g. contributors or sponsors lists.
+     * The card then fits the height the about view is given and each section scrolls its own
+     * cells, so {@link #setWrapScrollView(boolean)} is ignored. Inside a scrolling parent, which
+     * lets the card take any height, every cell is laid out and the parent does all the
+     * scrolling. The links animation is not played.
+     *
+     * @param virtualizedItems true if you want it
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setVirtualizedItems(boolean virtualizedItems) {
+        this.virtualizedItems = virtualizedItems;
+        return this;
+    }
+
+    public boolean isRenderAsList() {
+        return renderAsList;
+    }
+
+    /**
+     * Renders the whole card as one recycling list: the header, each link, the app holder and
+     * each action are rows, and the ones off screen are not inflated or measured until scrolled to.
+     * The list scrolls by itself, so {@link #setWrapScrollView(boolean)} is not needed. The links
+     * animation is not played and the columns count is used even if a minimum cell width is set.
+     *
+     * @param renderAsList true if you want it
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setRenderAsList(boolean renderAsList) {
+        this.renderAsList = renderAsList;
+        return this;
+    }
+
+    public boolean isFlatGrids() {
+        return flatGrids;
+    }
+
+    /**
+     * Draws each of the links and actions sections with a single view instead of a few views
+     * per item. Clicks, ripples and accessibility still work per item, but
+     * {@link com.vansuita.materialabout.views.AboutView#findItem(Item)} returns null and the
+     * links animation is not played.
+     *
+     * @param flatGrids true if you want it
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setFlatGrids(boolean flatGrids) {
+        this.flatGrids = flatGrids;
+        return this;
+    }
+
+    public boolean isFlatLayout() {
+        return flatLayout;
+    }
+
+    /**
+     * Uses a card with all of its sections on a single {@code ConstraintLayout} level instead of
+     * the nested linear layouts. Looks the same, with fewer levels to measure and lay out.
+     * Not used together with {@link #setRenderAsList(boolean)}.
+     *
+     * @param flatLayout true if you want it
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setFlatLayout(boolean flatLayout) {
+        this.flatLayout = flatLayout;
+        return this;
+    }
+
+    public boolean isLowOverdraw() {
+        return lowOverdraw;
+    }
+
+    /**
+     * Keeps links and actions transparent until they are pressed, instead of filling each one
+     * with the card color. Saves painting every cell on top of the card it already sits on.
+     * From Lollipop on, the card is not filled beneath an opaque cover either.
+     *
+     * @param lowOverdraw true if you want it
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setLowOverdraw(boolean lowOverdraw) {
+        this.lowOverdraw = lowOverdraw;
+        return this;
+    }
+
+    public boolean isLinksUniformCells() {
+        return linksUniformCells;
+    }
+
+    /**
+     * Measures a single link and gives its size to all the others.
+     * Worth it on big link sections where every label fits the same height.
+     *
+     * @param uniformCells true if you want it
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setLinksUniformCells(boolean uniformCells) {
+        this.linksUniformCells = uniformCells;
+        return this;
+    }
+
+    public boolean isActionsUniformCells() {
+        return actionsUniformCells;
+    }
+
+    /**
+     * Measures a single action and gives its size to all the others.
+     * Worth it on big action sections where every label fits the same height.
+     *
+     * @param uniformCells true if you want it
+     * @return the same {@link AboutBuilder} instance
+     */
+    @NonNull
+    public AboutBuilder setActionsUniformCells(boolean uniformCells) {
+        this.actionsUniformCells = uniformCells;
+        return this;
+    }
+
     public boolean isShowDivider() {
         return showDivider;
     }
@@ -2153,16 +2457,38 @@ public final class AboutBuilder {
         return this;
     }
 
+    /**
+     * Links added or removed here after the view is built show up on it right away.
+     */
     @NonNull
     public LinkedList<Item> getLinks() {
         return links;
     }
 
+    /**
+     * Actions added or removed here after the view is built show up on it right away.
+     */
     @NonNull
     public LinkedList<Item> getActions() {
         return actions;
     }
 
+    /**
+     * Same list as {@link #getLinks()}, to follow its changes.
+     */
+    @NonNull
+    public ItemList getLinkList() {
+        return links;
+    }
+
+    /**
+     * Same list as {@link #getActions()}, to follow its changes.
+     */
+    @NonNull
+    public ItemList getActionList() {
+        return actions;
+    }
+
     @NonNull
     public AboutView build() {
         AboutView aboutView = new AboutView(context);
@@ -2170,4 +2496,26 @@ public final class AboutBuilder {
         return aboutView;
     }
 
+    /**
+     * Same as {@link #build()}, but the texts and item labels are measured on a background
+     * thread first. The view is returned right away, so it can be added to the screen. It stays
+     * invisible until it gets its content, right before the listener is called.
+     *
+     * @param listener called on the UI thread once the view is built
+     * @return the {@link AboutView} being built
+     */
+    @NonNull
+    public AboutView buildAsync(@Nullable OnBuildListener listener) {
+        AboutView aboutView = new AboutView(context);
+        aboutView.buildAsync(this, listener);
+        return aboutView;
+    }
+
+    /**
+     * Called once an {@link AboutView} built with {@link #buildAsync(OnBuildListener)} is ready.
+     */
+    public interface OnBuildListener {
+        void onBuild(@NonNull AboutView aboutView);
+    }
+
 }
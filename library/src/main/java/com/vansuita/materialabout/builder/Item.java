@@ -11,9 +11,11 @@ import com.vansuita.materialabout.views.ViewIdGenerator;
 public class Item {
 
     private int id;
+    private String key;
     private String label;
     private Bitmap icon;
     private View.OnClickListener onClick;
+    private int span = 1;
 
     public String getLabel() {
         return label;
@@ -43,6 +45,32 @@ public class Item {
         return id;
     }
 
+    /**
+     * @return what tells this item apart from the others of its list, the label unless set
+     */
+    public String getKey() {
+        return key != null ? key : label;
+    }
+
+    /**
+     * Identifies the item across builders, so an about view updated with a new builder keeps
+     * the cell of the item with the same key. Needed when the label changes between them.
+     */
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public int getSpan() {
+        return span;
+    }
+
+    /**
+     * Number of grid columns this item takes, e.g. 2 for a featured action.
+     */
+    public void setSpan(int span) {
+        this.span = Math.max(1, span);
+    }
+
     public Item(Bitmap icon, String label, View.OnClickListener onClick) {
         this.id = ViewIdGenerator.generateViewId();
         this.label = label;
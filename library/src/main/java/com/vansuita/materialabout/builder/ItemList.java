@@ -0,0 +1,237 @@
+package com.vansuita.materialabout.builder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Links or actions of an {@link AboutBuilder}. Changes made after the about view is built are
+ * reported to it, so it can add or remove just the cells involved.
+ * <p>
+ * Once the list is bound to an about view, change it on the UI thread only: the view hears of
+ * the changes on the thread making them and reads the list back on the UI thread. Changes made
+ * through {@link #descendingIterator()} are not reported.
+ */
+public class ItemList extends LinkedList<Item> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Called on every change of the list, on the thread making it. Several changes in a row
+     * can be handled as one.
+     */
+    public interface OnChangeListener {
+        void onItemsChanged(@NonNull ItemList items);
+    }
+
+    private transient List<OnChangeListener> listeners;
+
+    private transient int changeCount;
+
+    public void addOnChangeListener(@NonNull OnChangeListener listener) {
+        if (listeners == null)
+            listeners = new ArrayList<>();
+
+        if (!listeners.contains(listener))
+            listeners.add(listener);
+    }
+
+    public void removeOnChangeListener(@NonNull OnChangeListener listener) {
+        if (listeners != null)
+            listeners.remove(listener);
+    }
+
+    /**
+     * @return number of reported changes so far, to tell whether the list changed since a given
+     * point without listening to it
+     */
+    public int getChangeCount() {
+        return changeCount;
+    }
+
+    private void changed() {
+        changeCount++;
+
+        if (listeners == null)
+            return;
+
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onItemsChanged(this);
+        }
+    }
+
+    @Override
+    public boolean add(Item item) {
+        super.add(item);
+        changed();
+        return true;
+    }
+
+    @Override
+    public void add(int index, Item item) {
+        super.add(index, item);
+        changed();
+    }
+
+    @Override
+    public void addFirst(Item item) {
+        super.addFirst(item);
+        changed();
+    }
+
+    @Override
+    public void addLast(Item item) {
+        super.addLast(item);
+        changed();
+    }
+
+    @Override
+    public boolean addAll(@NonNull Collection<? extends Item> c) {
+        return changed(super.addAll(c));
+    }
+
+    @Override
+    public boolean addAll(int index, @NonNull Collection<? extends Item> c) {
+        return changed(super.addAll(index, c));
+    }
+
+    @Override
+    public Item set(int index, Item item) {
+        Item previous = super.set(index, item);
+        changed();
+        return previous;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return changed(super.remove(o));
+    }
+
+    @Override
+    public Item remove(int index) {
+        Item removed = super.remove(index);
+        changed();
+        return removed;
+    }
+
+    @Override
+    public Item removeFirst() {
+        Item removed = super.removeFirst();
+        changed();
+        return removed;
+    }
+
+    @Override
+    public Item removeLast() {
+        Item removed = super.removeLast();
+        changed();
+        return removed;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        return changed(super.removeLastOccurrence(o));
+    }
+
+    @Override
+    public Item poll() {
+        return changed(super.poll());
+    }
+
+    @Override
+    public Item pollFirst() {
+        return changed(super.pollFirst());
+    }
+
+    @Override
+    public Item pollLast() {
+        return changed(super.pollLast());
+    }
+
+    @Override
+    public void clear() {
+        boolean wasEmpty = isEmpty();
+        super.clear();
+
+        if (!wasEmpty)
+            changed();
+    }
+
+    /**
+     * Also covers {@link #iterator()}, {@link #removeAll(Collection)} and
+     * {@link #retainAll(Collection)}, which go through it.
+     */
+    @NonNull
+    @Override
+    public ListIterator<Item> listIterator(int index) {
+        final ListIterator<Item> iterator = super.listIterator(index);
+
+        return new ListIterator<Item>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Item next() {
+                return iterator.next();
+            }
+
+            @Override
+            public boolean hasPrevious() {
+                return iterator.hasPrevious();
+            }
+
+            @Override
+            public Item previous() {
+                return iterator.previous();
+            }
+
+            @Override
+            public int nextIndex() {
+                return iterator.nextIndex();
+            }
+
+            @Override
+            public int previousIndex() {
+                return iterator.previousIndex();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                changed();
+            }
+
+            @Override
+            public void set(Item item) {
+                iterator.set(item);
+                changed();
+            }
+
+            @Override
+            public void add(Item item) {
+                iterator.add(item);
+                changed();
+            }
+        };
+    }
+
+    private boolean changed(boolean changed) {
+        if (changed)
+            changed();
+
+        return changed;
+    }
+
+    private Item changed(Item removed) {
+        if (removed != null)
+            changed();
+
+        return removed;
+    }
+}
@@ -0,0 +1,74 @@
+package com.vansuita.materialabout.util;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.util.LongSparseArray;
+
+import java.util.ArrayDeque;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Pool of mutable ARGB_8888 bitmaps, bucketed by size, used when rasterizing drawables.
+ */
+public final class BitmapPool {
+
+    private static final int MAX_POOL_SIZE = 4 * 1024 * 1024;
+
+    private static final LongSparseArray<ArrayDeque<Bitmap>> buckets = new LongSparseArray<>();
+    private static int poolSize = 0;
+
+    /**
+     * Gets a cleared bitmap with the exact size, reusing a pooled one when available.
+     */
+    @NonNull
+    public static synchronized Bitmap get(int width, int height) {
+        ArrayDeque<Bitmap> bucket = buckets.get(key(width, height));
+        Bitmap bitmap = bucket == null ? null : bucket.poll();
+
+        if (bitmap != null) {
+            poolSize -= bitmap.getByteCount();
+            bitmap.eraseColor(Color.TRANSPARENT);
+            return bitmap;
+        }
+
+        return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    }
+
+    /**
+     * Gives a bitmap back to the pool. The caller must not draw it anymore.
+     */
+    public static synchronized void put(@Nullable Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable() || bitmap.getConfig() != Bitmap.Config.ARGB_8888)
+            return;
+
+        int bytes = bitmap.getByteCount();
+        if (poolSize + bytes > MAX_POOL_SIZE)
+            return;
+
+        long key = key(bitmap.getWidth(), bitmap.getHeight());
+        ArrayDeque<Bitmap> bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new ArrayDeque<>();
+            buckets.put(key, bucket);
+        } else if (bucket.contains(bitmap)) {
+            return;
+        }
+
+        bucket.push(bitmap);
+        poolSize += bytes;
+    }
+
+    /**
+     * Drops every pooled bitmap.
+     */
+    public static synchronized void clear() {
+        buckets.clear();
+        poolSize = 0;
+    }
+
+    private static long key(int width, int height) {
+        return ((long) width << 32) | (height & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,123 @@
+package com.vansuita.materialabout.util;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Helpers for the work done on downscaled copies of the about images.
+ */
+public final class BitmapUtil {
+
+    // Content hash of each bitmap compared so far, with the generation it was worked out for
+    private static final Map<Bitmap, long[]> hashes = new WeakHashMap<>();
+
+    /**
+     * Scales the bitmap down so its longest side is at most maxSide. Never scales up.
+     */
+    @NonNull
+    public static Bitmap downscale(@NonNull Bitmap bitmap, int maxSide) {
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+        float scale = Math.min(1f, maxSide / (float) Math.max(width, height));
+
+        if (scale >= 1f)
+            return bitmap;
+
+        return Bitmap.createScaledBitmap(bitmap, Math.max((int) (width * scale), 1), Math.max((int) (height * scale), 1), true);
+    }
+
+    /**
+     * Decodes a resource already subsampled close to maxSide, without decoding it at full size first.
+     */
+    @Nullable
+    public static Bitmap decodeDownscaled(@NonNull Resources resources, int res, int maxSide) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(resources, res, options);
+
+        int sampleSize = 1;
+        while (Math.max(options.outWidth, options.outHeight) / (sampleSize * 2) >= maxSide)
+            sampleSize *= 2;
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+
+        Bitmap bitmap = BitmapFactory.decodeResource(resources, res, options);
+        if (bitmap == null)
+            return null;
+
+        // The subsampled decode is only a step towards the result, nobody else holds it
+        Bitmap scaled = downscale(bitmap, maxSide);
+        if (scaled != bitmap)
+            bitmap.recycle();
+
+        return scaled;
+    }
+
+    /**
+     * Decodes a resource at full size into a bitmap that can be drawn on.
+     */
+    @Nullable
+    public static Bitmap decodeMutable(@NonNull Resources resources, int res) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inMutable = true;
+        return BitmapFactory.decodeResource(resources, res, options);
+    }
+
+    /**
+     * Tells if both hold the same image, even when decoded apart. Bitmaps of different sizes or
+     * configs never get to their pixels, the others are compared by a content hash worked out
+     * once per bitmap and kept until its pixels change.
+     *
+     * @return true if both hold the same image
+     */
+    public static boolean same(@Nullable Bitmap a, @Nullable Bitmap b) {
+        if (a == b)
+            return true;
+
+        if (a == null || b == null || a.isRecycled() || b.isRecycled())
+            return false;
+
+        if (a.getWidth() != b.getWidth() || a.getHeight() != b.getHeight() || a.getConfig() != b.getConfig())
+            return false;
+
+        return contentHash(a) == contentHash(b);
+    }
+
+    private static long contentHash(@NonNull Bitmap bitmap) {
+        int generation = bitmap.getGenerationId();
+
+        synchronized (hashes) {
+            long[] cached = hashes.get(bitmap);
+
+            if (cached != null && cached[0] == generation)
+                return cached[1];
+        }
+
+        // FNV-1a over the pixels, a row at a time
+        int width = bitmap.getWidth();
+        int[] row = new int[width];
+        long hash = 0xcbf29ce484222325L;
+
+        for (int y = 0; y < bitmap.getHeight(); y++) {
+            bitmap.getPixels(row, 0, width, 0, y, width, 1);
+
+            for (int pixel : row) {
+                hash ^= pixel;
+                hash *= 0x100000001b3L;
+            }
+        }
+
+        synchronized (hashes) {
+            hashes.put(bitmap, new long[]{generation, hash});
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,158 @@
+package com.vansuita.materialabout.util;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.LinearGradient;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.graphics.ColorUtils;
+
+/**
+ * Blurred and scrimmed copy of the about cover, rendered once and cached. Blurring happens on a
+ * downscaled copy, a scrim alone is drawn over the cover at its full resolution.
+ */
+public final class CoverEffect {
+
+    private static final int SAMPLE_SIZE = 160;
+    private static final int BLUR_PASSES = 3;
+    // Room for a full size cover, which is what a scrim without blur renders
+    private static final int MAX_CACHE_SIZE = 8 * 1024 * 1024;
+
+    private static final LruCache<Key, Bitmap> cache = new LruCache<Key, Bitmap>(MAX_CACHE_SIZE) {
+        @Override
+        protected int sizeOf(Key key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+
+    /**
+     * Builds the cache key of the effect. Pass the bitmap when there is one,
+     * otherwise the drawable resource it comes from.
+     */
+    @NonNull
+    public static Key key(@Nullable Bitmap bitmap, int res, int blurRadius, int scrimColor) {
+        return new Key(ImageKey.of(bitmap, res), blurRadius > 0 ? SAMPLE_SIZE : 0, blurRadius, scrimColor);
+    }
+
+    @Nullable
+    public static Bitmap get(@NonNull Key key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Blurs a downscaled copy of the cover and draws the scrim gradient over it. Without blur,
+     * the scrim goes over a full size copy. Meant to run on a background thread.
+     */
+    @Nullable
+    public static Bitmap apply(@NonNull Resources resources, @Nullable Bitmap bitmap, int res, @NonNull Key key) {
+        Bitmap sample;
+        if (key.size > 0)
+            sample = bitmap != null ? BitmapUtil.downscale(bitmap, key.size) : BitmapUtil.decodeDownscaled(resources, res, key.size);
+        else
+            sample = bitmap != null ? bitmap : BitmapUtil.decodeMutable(resources, res);
+
+        if (sample == null)
+            return null;
+
+        Bitmap output = sample != bitmap && sample.isMutable() ? sample : sample.copy(Bitmap.Config.ARGB_8888, true);
+
+        if (key.blurRadius > 0)
+            blur(output, key.blurRadius);
+
+        if (key.scrimColor != 0) {
+            Paint paint = new Paint();
+            paint.setShader(new LinearGradient(0, 0, 0, output.getHeight(),
+                    ColorUtils.setAlphaComponent(key.scrimColor, 0), key.scrimColor, Shader.TileMode.CLAMP));
+            new Canvas(output).drawPaint(paint);
+        }
+
+        cache.put(key, output);
+        return output;
+    }
+
+    /**
+     * Box blur repeated a few times, which comes close to a gaussian blur. Each pass costs the
+     * same whatever the radius, because it slides a running sum over the pixels.
+     */
+    private static void blur(@NonNull Bitmap bitmap, int radius) {
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+        int[] pixels = new int[width * height];
+        int[] buffer = new int[width * height];
+
+        bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
+
+        for (int pass = 0; pass < BLUR_PASSES; pass++) {
+            // Each call blurs the rows and writes them transposed, so two calls cover both axes
+            blurRowsTransposed(pixels, buffer, width, height, radius);
+            blurRowsTransposed(buffer, pixels, height, width, radius);
+        }
+
+        bitmap.setPixels(pixels, 0, width, 0, 0, width, height);
+    }
+
+    private static void blurRowsTransposed(int[] in, int[] out, int width, int height, int radius) {
+        int window = radius * 2 + 1;
+
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            int a = 0;
+            int r = 0;
+            int g = 0;
+            int b = 0;
+
+            for (int i = -radius; i <= radius; i++) {
+                int p = in[row + Math.min(Math.max(i, 0), width - 1)];
+                a += p >>> 24;
+                r += (p >> 16) & 0xFF;
+                g += (p >> 8) & 0xFF;
+                b += p & 0xFF;
+            }
+
+            for (int x = 0; x < width; x++) {
+                out[x * height + y] = ((a / window) << 24) | ((r / window) << 16) | ((g / window) << 8) | (b / window);
+
+                int add = in[row + Math.min(x + radius + 1, width - 1)];
+                int remove = in[row + Math.max(x - radius, 0)];
+                a += (add >>> 24) - (remove >>> 24);
+                r += ((add >> 16) & 0xFF) - ((remove >> 16) & 0xFF);
+                g += ((add >> 8) & 0xFF) - ((remove >> 8) & 0xFF);
+                b += (add & 0xFF) - (remove & 0xFF);
+            }
+        }
+    }
+
+    public static final class Key {
+        private final ImageKey image;
+        private final int size;
+        private final int blurRadius;
+        private final int scrimColor;
+
+        Key(@NonNull ImageKey image, int size, int blurRadius, int scrimColor) {
+            this.image = image;
+            this.size = size;
+            this.blurRadius = blurRadius;
+            this.scrimColor = scrimColor;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key))
+                return false;
+
+            Key other = (Key) o;
+            return image.equals(other.image) && size == other.size
+                    && blurRadius == other.blurRadius && scrimColor == other.scrimColor;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((image.hashCode() * 31 + size) * 31 + blurRadius) * 31 + scrimColor;
+        }
+    }
+}
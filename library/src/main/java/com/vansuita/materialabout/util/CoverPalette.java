@@ -0,0 +1,182 @@
+package com.vansuita.materialabout.util;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.graphics.ColorUtils;
+
+/**
+ * Text, icon and divider colors derived from the about cover (or photo), readable over the card color.
+ */
+public final class CoverPalette {
+
+    private static final int SAMPLE_SIZE = 48;
+    private static final double MIN_TEXT_CONTRAST = 4.5;
+    private static final double MIN_GRAPHIC_CONTRAST = 3.0;
+
+    private static final LruCache<Key, CoverPalette> cache = new LruCache<>(16);
+
+    private final int nameColor;
+    private final int subTitleColor;
+    private final int briefColor;
+    private final int iconColor;
+    private final int dividerColor;
+
+    private CoverPalette(int accent, int cardColor) {
+        int neutral = RippleUtil.isDark(cardColor) ? Color.WHITE : Color.BLACK;
+
+        nameColor = readable(accent, cardColor, MIN_TEXT_CONTRAST);
+        subTitleColor = readable(ColorUtils.blendARGB(accent, neutral, 0.35f), cardColor, MIN_TEXT_CONTRAST);
+        briefColor = readable(ColorUtils.blendARGB(neutral, accent, 0.2f), cardColor, MIN_TEXT_CONTRAST);
+        iconColor = readable(accent, cardColor, MIN_GRAPHIC_CONTRAST);
+        dividerColor = readable(ColorUtils.blendARGB(accent, cardColor, 0.3f), cardColor, MIN_GRAPHIC_CONTRAST);
+    }
+
+    public int getNameColor() {
+        return nameColor;
+    }
+
+    public int getSubTitleColor() {
+        return subTitleColor;
+    }
+
+    public int getBriefColor() {
+        return briefColor;
+    }
+
+    public int getIconColor() {
+        return iconColor;
+    }
+
+    public int getDividerColor() {
+        return dividerColor;
+    }
+
+    /**
+     * Builds the cache key of an image over a card color. Pass the bitmap when there is one,
+     * otherwise the drawable resource it comes from.
+     */
+    @NonNull
+    public static Key key(@Nullable Bitmap bitmap, int res, int cardColor) {
+        return new Key(ImageKey.of(bitmap, res), cardColor);
+    }
+
+    @Nullable
+    public static CoverPalette get(@NonNull Key key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Samples a downscaled copy of the image. Meant to run on a background thread.
+     */
+    @Nullable
+    public static CoverPalette extract(@NonNull Resources resources, @Nullable Bitmap bitmap, int res, int cardColor, @NonNull Key key) {
+        Bitmap sample = bitmap != null ? BitmapUtil.downscale(bitmap, SAMPLE_SIZE) : BitmapUtil.decodeDownscaled(resources, res, SAMPLE_SIZE);
+
+        if (sample == null)
+            return null;
+
+        CoverPalette palette = new CoverPalette(accent(sample), ColorUtils.setAlphaComponent(cardColor, 255));
+
+        if (sample != bitmap)
+            sample.recycle();
+
+        cache.put(key, palette);
+        return palette;
+    }
+
+    /**
+     * The most populated color bucket, weighted towards saturated colors.
+     */
+    private static int accent(@NonNull Bitmap sample) {
+        int width = sample.getWidth();
+        int height = sample.getHeight();
+        int[] pixels = new int[width * height];
+        sample.getPixels(pixels, 0, width, 0, 0, width, height);
+
+        // 4 bits per channel
+        int[] counts = new int[4096];
+        long[] reds = new long[4096];
+        long[] greens = new long[4096];
+        long[] blues = new long[4096];
+        float[] hsl = new float[3];
+
+        for (int pixel : pixels) {
+            if (Color.alpha(pixel) < 128)
+                continue;
+
+            int r = Color.red(pixel);
+            int g = Color.green(pixel);
+            int b = Color.blue(pixel);
+            int bucket = ((r >> 4) << 8) | ((g >> 4) << 4) | (b >> 4);
+
+            counts[bucket]++;
+            reds[bucket] += r;
+            greens[bucket] += g;
+            blues[bucket] += b;
+        }
+
+        int best = -1;
+        float bestScore = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0)
+                continue;
+
+            int color = Color.rgb((int) (reds[i] / counts[i]), (int) (greens[i] / counts[i]), (int) (blues[i] / counts[i]));
+            ColorUtils.colorToHSL(color, hsl);
+            float score = counts[i] * (0.3f + hsl[1]);
+
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+
+        if (best < 0)
+            return Color.GRAY;
+
+        return Color.rgb((int) (reds[best] / counts[best]), (int) (greens[best] / counts[best]), (int) (blues[best] / counts[best]));
+    }
+
+    /**
+     * Moves the color away from the background until it reaches the contrast ratio.
+     */
+    private static int readable(int color, int background, double minContrast) {
+        color = ColorUtils.setAlphaComponent(color, 255);
+        int target = RippleUtil.isDark(background) ? Color.WHITE : Color.BLACK;
+
+        for (float ratio = 0.1f; ColorUtils.calculateContrast(color, background) < minContrast && ratio <= 1f; ratio += 0.1f) {
+            color = ColorUtils.blendARGB(color, target, ratio);
+        }
+
+        return color;
+    }
+
+    public static final class Key {
+        private final ImageKey image;
+        private final int cardColor;
+
+        Key(@NonNull ImageKey image, int cardColor) {
+            this.image = image;
+            this.cardColor = cardColor;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key))
+                return false;
+
+            Key other = (Key) o;
+            return image.equals(other.image) && cardColor == other.cardColor;
+        }
+
+        @Override
+        public int hashCode() {
+            return image.hashCode() * 31 + cardColor;
+        }
+    }
+}
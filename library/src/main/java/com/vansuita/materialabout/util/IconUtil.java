@@ -10,6 +10,10 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * Static utilities.
  */
@@ -32,4 +36,26 @@ public final class IconUtil {
     public static Drawable getDrawable(@NonNull Context context, @DrawableRes int res) {
         return ContextCompat.getDrawable(context, res);
     }
+
+    @Nullable
+    public static byte[] getBytes(@NonNull Context context, int res) {
+        InputStream in = context.getResources().openRawResource(res);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(in.available());
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
 }
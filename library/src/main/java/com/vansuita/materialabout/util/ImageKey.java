@@ -0,0 +1,52 @@
+package com.vansuita.materialabout.util;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Identifies the image a cached result was computed from. A bitmap is known by its generation
+ * id and size, which change whenever its pixels do, and a drawable resource by its id. The two
+ * never match each other.
+ */
+final class ImageKey {
+
+    private static final int BITMAP = 1;
+    private static final int RESOURCE = 2;
+
+    private final int kind;
+    private final int id;
+    private final int width;
+    private final int height;
+
+    private ImageKey(int kind, int id, int width, int height) {
+        this.kind = kind;
+        this.id = id;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Pass the bitmap when there is one, otherwise the drawable resource it comes from.
+     */
+    static ImageKey of(@Nullable Bitmap bitmap, int res) {
+        if (bitmap != null)
+            return new ImageKey(BITMAP, bitmap.getGenerationId(), bitmap.getWidth(), bitmap.getHeight());
+
+        return new ImageKey(RESOURCE, res, 0, 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ImageKey))
+            return false;
+
+        ImageKey other = (ImageKey) o;
+        return kind == other.kind && id == other.id && width == other.width && height == other.height;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((kind * 31 + id) * 31 + width) * 31 + height;
+    }
+}
@@ -12,6 +12,7 @@ import android.graphics.drawable.StateListDrawable;
 import android.graphics.drawable.shapes.RoundRectShape;
 import android.os.Build;
 import androidx.annotation.NonNull;
+import android.util.LongSparseArray;
 import android.util.StateSet;
 import android.view.View;
 
@@ -23,6 +24,16 @@ import java.util.Arrays;
 
 public final class RippleUtil {
 
+    // 3 is radius of final ripple
+    private static final int RIPPLE_RADIUS = 3;
+    private static final int MAX_RIPPLES = 32;
+
+    /**
+     * Ripples already built, keyed by color, radius and whether they are masked. Each call only
+     * creates a new drawable on top of the shared state.
+     */
+    private static final LongSparseArray<Drawable.ConstantState> ripples = new LongSparseArray<>();
+
     public static void background(@NonNull View v, Drawable d) {
         if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
             v.setBackgroundDrawable(d);
@@ -39,21 +50,60 @@ public final class RippleUtil {
         RippleUtil.background(v, getAdaptiveRippleDrawable(color));
     }
 
+    public static void backgroundMaskedRipple(@NonNull View v, int color) {
+        RippleUtil.background(v, getMaskedRippleDrawable(color));
+    }
+
+    /**
+     * Same as {@link #getAdaptiveRippleDrawable(int)}, but draws nothing at rest on every API,
+     * only the pressed feedback. On Lollipop and up its mask is an opaque rectangle, so the
+     * ripple is just clipped to the cell instead of being drawn through a mask layer.
+     */
+    @NonNull
+    public static Drawable getMaskedRippleDrawable(int normalColor) {
+        return getRippleDrawable(normalColor, true);
+    }
+
     @NonNull
     public static Drawable getAdaptiveRippleDrawable(int normalColor) {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            return new RippleDrawable(ColorStateList.valueOf(darker(normalColor)), getRippleMask(normalColor), null);
+        return getRippleDrawable(normalColor, false);
+    }
+
+    @NonNull
+    private static synchronized Drawable getRippleDrawable(int normalColor, boolean masked) {
+        boolean lollipop = Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP;
+        long key = (normalColor & 0xFFFFFFFFL) | ((long) RIPPLE_RADIUS << 33) | (masked ? 1L << 32 : 0);
+
+        Drawable.ConstantState state = ripples.get(key);
+        if (state != null)
+            return state.newDrawable();
+
+        Drawable drawable;
+        if (lollipop) {
+            Drawable mask = masked ? new ColorDrawable(Color.BLACK) : getRippleMask(normalColor);
+            drawable = new RippleDrawable(ColorStateList.valueOf(darker(normalColor)), mask, null);
         } else {
-            return getStateListDrawable(normalColor, darker(normalColor));
+            drawable = getStateListDrawable(masked ? Color.TRANSPARENT : normalColor, darker(normalColor));
         }
+
+        state = drawable.getConstantState();
+        if (state != null) {
+            // Only a handful of card colors are expected, palettes may bring more
+            if (ripples.size() >= MAX_RIPPLES)
+                ripples.clear();
+
+            ripples.put(key, state);
+            // Never hand out the instance backing the cached state
+            return state.newDrawable();
+        }
+
+        return drawable;
     }
 
     @NonNull
     private static Drawable getRippleMask(int color) {
         float[] outerRadii = new float[8];
-        // 3 is radius of final ripple,
-        // instead of 3 you can give required final radius
-        Arrays.fill(outerRadii, 3);
+        Arrays.fill(outerRadii, RIPPLE_RADIUS);
 
         RoundRectShape r = new RoundRectShape(outerRadii, null, null);
         ShapeDrawable shapeDrawable = new ShapeDrawable(r);
@@ -72,8 +122,11 @@ public final class RippleUtil {
                 new ColorDrawable(pressedColor));
         states.addState(new int[]{android.R.attr.state_activated},
                 new ColorDrawable(pressedColor));
-        states.addState(new int[]{}, new ColorDrawable(normalColor));
-        states.addState(StateSet.WILD_CARD, new ColorDrawable(normalColor));
+
+        if (normalColor != Color.TRANSPARENT) {
+            states.addState(new int[]{}, new ColorDrawable(normalColor));
+            states.addState(StateSet.WILD_CARD, new ColorDrawable(normalColor));
+        }
         return states;
     }
 
@@ -0,0 +1,55 @@
+package com.vansuita.materialabout.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Runs the library work that should stay away from the UI thread.
+ */
+public final class TaskUtil {
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private static final Executor background = newBackgroundExecutor("MaterialAbout");
+
+    /**
+     * A single background priority thread of its own, for work that would hold up the shared
+     * one for too long.
+     */
+    @NonNull
+    public static Executor newBackgroundExecutor(@NonNull final String name) {
+        return Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull final Runnable runnable) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                        runnable.run();
+                    }
+                }, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public static void background(@NonNull Runnable runnable) {
+        background.execute(runnable);
+    }
+
+    public static void main(@NonNull Runnable runnable) {
+        mainHandler.post(runnable);
+    }
+
+    public static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+}
@@ -0,0 +1,88 @@
+package com.vansuita.materialabout.util;
+
+import android.text.TextUtils;
+import android.util.LruCache;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+
+/**
+ * Texts measured ahead of time, so the first measure of the about card doesn't have to.
+ * Entries are keyed by the text and the text metrics of the view showing it.
+ */
+public final class TextPrecompute {
+
+    private static final LruCache<Key, PrecomputedTextCompat> cache = new LruCache<>(128);
+
+    /**
+     * The text metrics of a view, to precompute texts for it away from the UI thread.
+     */
+    @NonNull
+    public static PrecomputedTextCompat.Params params(@NonNull TextView tv) {
+        return TextViewCompat.getTextMetricsParams(tv);
+    }
+
+    /**
+     * Measures the text for the given metrics and keeps it. Meant to run on a background thread.
+     * Does nothing without metrics, as for a section that was never inflated.
+     */
+    public static void precompute(@Nullable CharSequence text, @Nullable PrecomputedTextCompat.Params params) {
+        if (TextUtils.isEmpty(text) || params == null)
+            return;
+
+        Key key = new Key(text, params);
+        if (cache.get(key) == null)
+            cache.put(key, PrecomputedTextCompat.create(text, params));
+    }
+
+    /**
+     * Sets the precomputed text when there is one for this view, the plain text otherwise.
+     */
+    public static void setText(@NonNull TextView tv, @Nullable CharSequence text) {
+        if (!TextUtils.isEmpty(text)) {
+            PrecomputedTextCompat precomputed = cache.get(new Key(text, params(tv)));
+
+            if (precomputed != null) {
+                try {
+                    TextViewCompat.setPrecomputedText(tv, precomputed);
+                    return;
+                } catch (IllegalArgumentException e) {
+                    // The view metrics changed since, measure it the normal way
+                }
+            }
+        }
+
+        tv.setText(text);
+    }
+
+    private static final class Key {
+
+        private final String text;
+        private final PrecomputedTextCompat.Params params;
+
+        Key(@NonNull CharSequence text, @NonNull PrecomputedTextCompat.Params params) {
+            this.text = text.toString();
+            this.params = params;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+
+            if (!(o instanceof Key))
+                return false;
+
+            Key key = (Key) o;
+            return text.equals(key.text) && params.equals(key.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * text.hashCode() + params.hashCode();
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.vansuita.materialabout.views;
+
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.text.TextUtils;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.vansuita.materialabout.R;
+import com.vansuita.materialabout.builder.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Rows of the about card when it is rendered as a single list: the header, one row per link,
+ * the app holder if there is one and one row per action. Links and actions share a grid, so the
+ * span count is a multiple of both column counts.
+ * <p>
+ * The header and the app holder are single views built with the card, so their rows must never
+ * be recycled into the pool: see {@link #keepSingleRows(RecyclerView)}.
+ */
+final class AboutListAdapter extends RecyclerView.Adapter<AboutListAdapter.Holder> {
+
+    static final int TYPE_HEADER = 0;
+    static final int TYPE_LINK = 1;
+    static final int TYPE_APP = 2;
+    static final int TYPE_ACTION = 3;
+
+    private final AboutView aboutView;
+    private final View header;
+    private final View app;
+    private final int linksColumns;
+    private final int actionsColumns;
+    private List<Item> links;
+    private List<Item> actions;
+    private ItemSnapshot[] linkSnapshots;
+    private ItemSnapshot[] actionSnapshots;
+
+    AboutListAdapter(@NonNull AboutView aboutView, @NonNull View header, @Nullable View app,
+                     @NonNull List<Item> links, @NonNull List<Item> actions, int linksColumns, int actionsColumns) {
+        this.aboutView = aboutView;
+        this.header = header;
+        this.app = app;
+        this.links = new ArrayList<>(links);
+        this.actions = new ArrayList<>(actions);
+        this.linkSnapshots = ItemSnapshot.of(links);
+        this.actionSnapshots = ItemSnapshot.of(actions);
+        this.linksColumns = Math.max(1, linksColumns);
+        this.actionsColumns = Math.max(1, actionsColumns);
+    }
+
+    /**
+     * Swaps the links and actions, notifying only the rows that were added, removed, moved or
+     * changed. The header and the app rows stay.
+     */
+    void setItems(@NonNull List<Item> links, @NonNull List<Item> actions) {
+        final int[] oldTypes = new int[getItemCount()];
+        final ItemSnapshot[] oldRows = new ItemSnapshot[oldTypes.length];
+
+        int oldFirstAction = getFirstActionPosition();
+
+        oldTypes[0] = TYPE_HEADER;
+        for (int i = 1; i < oldTypes.length; i++) {
+            oldTypes[i] = getItemViewType(i);
+
+            if (oldTypes[i] == TYPE_LINK)
+                oldRows[i] = linkSnapshots[i - 1];
+            else if (oldTypes[i] == TYPE_ACTION)
+                oldRows[i] = actionSnapshots[i - oldFirstAction];
+        }
+
+        this.links = new ArrayList<>(links);
+        this.actions = new ArrayList<>(actions);
+        this.linkSnapshots = ItemSnapshot.of(links);
+        this.actionSnapshots = ItemSnapshot.of(actions);
+
+        DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldTypes.length;
+            }
+
+            @Override
+            public int getNewListSize() {
+                return getItemCount();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                if (oldTypes[oldItemPosition] != getItemViewType(newItemPosition))
+                    return false;
+
+                ItemSnapshot row = oldRows[oldItemPosition];
+                return row == null || TextUtils.equals(row.getKey(), itemAt(newItemPosition).getKey());
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                ItemSnapshot row = oldRows[oldItemPosition];
+                return row == null || row.matches(itemAt(newItemPosition));
+            }
+
+            @Override
+            public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+                ItemSnapshot row = oldRows[oldItemPosition];
+                return row != null && row.looksLike(itemAt(newItemPosition)) ? ItemSnapshot.SAME_LOOK : null;
+            }
+        }).dispatchUpdatesTo(this);
+    }
+
+    /**
+     * @return the link or action of the row, null for the header and the app rows
+     */
+    @Nullable
+    private Item itemAt(int position) {
+        switch (getItemViewType(position)) {
+            case TYPE_LINK:
+                return links.get(position - 1);
+            case TYPE_ACTION:
+                return actions.get(position - getFirstActionPosition());
+            default:
+                return null;
+        }
+    }
+
+    int getSpanCount() {
+        return linksColumns * actionsColumns;
+    }
+
+    int getFirstLinkPosition() {
+        return links.isEmpty() ? RecyclerView.NO_POSITION : 1;
+    }
+
+    int getLastLinkPosition() {
+        return links.isEmpty() ? RecyclerView.NO_POSITION : links.size();
+    }
+
+    private int getFirstActionPosition() {
+        return links.size() + (app == null ? 1 : 2);
+    }
+
+    /**
+     * Keeps the header and the app rows out of the pool of the list, so a recycled row never
+     * hands their single view to a second holder.
+     */
+    static void keepSingleRows(@NonNull RecyclerView rv) {
+        rv.getRecycledViewPool().setMaxRecycledViews(TYPE_HEADER, 0);
+        rv.getRecycledViewPool().setMaxRecycledViews(TYPE_APP, 0);
+    }
+
+    @NonNull
+    GridLayoutManager.SpanSizeLookup spanSizeLookup() {
+        GridLayoutManager.SpanSizeLookup lookup = new GridLayoutManager.SpanSizeLookup() {
+            @Override
+            public int getSpanSize(int position) {
+                switch (getItemViewType(position)) {
+                    case TYPE_LINK:
+                        return actionsColumns * Math.min(links.get(position - 1).getSpan(), linksColumns);
+                    case TYPE_ACTION:
+                        return linksColumns * Math.min(actions.get(position - getFirstActionPosition()).getSpan(), actionsColumns);
+                    default:
+                        return getSpanCount();
+                }
+            }
+        };
+        lookup.setSpanIndexCacheEnabled(true);
+        lookup.setSpanGroupIndexCacheEnabled(true);
+        return lookup;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        if (position == 0)
+            return TYPE_HEADER;
+
+        if (position <= links.size())
+            return TYPE_LINK;
+
+        return app != null && position == links.size() + 1 ? TYPE_APP : TYPE_ACTION;
+    }
+
+    @NonNull
+    @Override
+    public Holder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view;
+
+        switch (viewType) {
+            case TYPE_HEADER:
+                view = detach(header);
+                break;
+            case TYPE_APP:
+                view = detach(app);
+                break;
+            default:
+                int layout = viewType == TYPE_LINK ? R.layout.xab_each_link : R.layout.xab_each_action;
+                view = LayoutInflater.from(parent.getContext()).inflate(layout, parent, false);
+                aboutView.prepareItem(view);
+        }
+
+        view.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        Holder holder = new Holder(view);
+        holder.rippleColor = aboutView.getRippleColor();
+        return holder;
+    }
+
+    /**
+     * The header and the app holder are built once with the card, there is a single row of each.
+     * A row dropped from the list gives its view back, so the next holder takes it over.
+     */
+    private static View detach(View view) {
+        if (view.getParent() instanceof ViewGroup)
+            ((ViewGroup) view.getParent()).removeView(view);
+
+        return view;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull Holder holder, int position) {
+        Item item = itemAt(position);
+
+        if (item == null)
+            return;
+
+        // The card was themed again since this row was created
+        if (holder.rippleColor != aboutView.getRippleColor()) {
+            aboutView.prepareItem(holder.itemView);
+            holder.rippleColor = aboutView.getRippleColor();
+        }
+
+        aboutView.bindItem(holder.itemView, item);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull Holder holder, int position, @NonNull List<Object> payloads) {
+        // Same look under another item, only the id and the click move over
+        if (!payloads.isEmpty() && holder.rippleColor == aboutView.getRippleColor()) {
+            aboutView.adoptItem(holder.itemView, itemAt(position));
+            return;
+        }
+
+        onBindViewHolder(holder, position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return getFirstActionPosition() + actions.size();
+    }
+
+    static final class Holder extends RecyclerView.ViewHolder {
+
+        // Card color the cell ripple was made for
+        private int rippleColor;
+
+        Holder(@NonNull View itemView) {
+            super(itemView);
+        }
+    }
+
+    /**
+     * Spaces the links section and draws the dashed divider above it, like the links grid
+     * background does on the card.
+     */
+    static final class LinksDecoration extends RecyclerView.ItemDecoration {
+
+        private final AboutListAdapter adapter;
+        private final GridLayoutManager.SpanSizeLookup lookup;
+        private final int verticalPadding;
+        private DividerDrawable divider;
+        private int strokeHeight;
+
+        LinksDecoration(@NonNull AboutListAdapter adapter, @NonNull GridLayoutManager.SpanSizeLookup lookup, int verticalPadding) {
+            this.adapter = adapter;
+            this.lookup = lookup;
+            this.verticalPadding = verticalPadding;
+        }
+
+        /**
+         * @param height stroke height, 0 hides the divider
+         */
+        void setStroke(@NonNull Resources res, int color, int height, float dashWidth, float dashGap) {
+            divider = DividerDrawable.get(res, color, height, dashWidth, dashGap);
+            strokeHeight = height;
+        }
+
+        @Override
+        public void getItemOffsets(@NonNull Rect outRect, @NonNull View view, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+            int position = parent.getChildAdapterPosition(view);
+            int first = adapter.getFirstLinkPosition();
+
+            if (position == RecyclerView.NO_POSITION || first == RecyclerView.NO_POSITION
+                    || adapter.getItemViewType(position) != TYPE_LINK)
+                return;
+
+            int spanCount = adapter.getSpanCount();
+            int group = lookup.getSpanGroupIndex(position, spanCount);
+
+            if (group == lookup.getSpanGroupIndex(first, spanCount))
+                outRect.top = verticalPadding;
+
+            if (group == lookup.getSpanGroupIndex(adapter.getLastLinkPosition(), spanCount))
+                outRect.bottom = verticalPadding;
+        }
+
+        @Override
+        public void onDraw(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+            if (divider == null || strokeHeight <= 0)
+                return;
+
+            for (int i = 0; i < parent.getChildCount(); i++) {
+                View child = parent.getChildAt(i);
+
+                if (parent.getChildAdapterPosition(child) == adapter.getFirstLinkPosition()) {
+                    int top = parent.getLayoutManager().getDecoratedTop(child);
+                    divider.setBounds(0, top, parent.getWidth(), top + strokeHeight);
+                    divider.draw(c);
+                    return;
+                }
+            }
+        }
+    }
+}
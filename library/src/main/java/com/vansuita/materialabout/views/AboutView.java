@@ -2,19 +2,23 @@ package com.vansuita.materialabout.views;
 
 
 import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.TypedArray;
 import android.graphics.Bitmap;
 import android.graphics.Color;
+import android.graphics.PixelFormat;
 import android.graphics.PorterDuff;
-import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Animatable;
 import android.graphics.drawable.Drawable;
-import android.graphics.drawable.GradientDrawable;
-import android.graphics.drawable.LayerDrawable;
-import android.os.Handler;
+import android.os.Build;
+import android.text.TextUtils;
 import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.view.ContextThemeWrapper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.view.animation.AnimationUtils;
+import android.view.ViewStub;
 import android.widget.FrameLayout;
 import android.widget.ImageView;
 import android.widget.ScrollView;
@@ -24,15 +28,33 @@ import com.vansuita.library.Icon;
 import com.vansuita.materialabout.R;
 import com.vansuita.materialabout.builder.AboutBuilder;
 import com.vansuita.materialabout.builder.Item;
+import com.vansuita.materialabout.builder.ItemList;
 import com.vansuita.materialabout.builder.ItemRes;
+import com.vansuita.materialabout.util.BitmapUtil;
+import com.vansuita.materialabout.util.CoverEffect;
+import com.vansuita.materialabout.util.CoverPalette;
 import com.vansuita.materialabout.util.RippleUtil;
+import com.vansuita.materialabout.util.TaskUtil;
+import com.vansuita.materialabout.util.TextPrecompute;
 import com.vansuita.materialabout.util.VisibleUtil;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.appcompat.widget.AppCompatImageView;
+import androidx.annotation.StyleRes;
 import androidx.cardview.widget.CardView;
+import androidx.constraintlayout.widget.ConstraintLayout;
 import androidx.core.content.ContextCompat;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.view.ViewCompat;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 /**
  * Created by jrvansuita on 10/02/17.
@@ -43,7 +65,7 @@ public final class AboutView extends FrameLayout {
     private LayoutInflater layoutInflater;
 
     private CardView cvHolder;
-    private AppCompatImageView ivPhoto;
+    private CircleImageView ivPhoto;
     private ImageView ivCover;
     private TextView tvName;
     private TextView tvSubTitle;
@@ -59,7 +81,71 @@ public final class AboutView extends FrameLayout {
 
     private Boolean isDarker;
     private int iconColor = 0;
-    private int animationDelay = 200;
+    private int dividerColor = 0;
+    private boolean lowOverdraw;
+    // Set in low overdraw mode when the card has a cover
+    private CardBackgroundDrawable cardBackground;
+    private int paletteRequest = 0;
+    private int coverEffectRequest = 0;
+    private StaggerAnimator stagger;
+
+    private ItemAdapter linksAdapter;
+    private ItemAdapter actionsAdapter;
+    private ItemRecyclerView linksRecycled;
+    private ItemRecyclerView actionsRecycled;
+
+    // Specs the recycled grids were last fitted to
+    private int fittedWidthSpec = -1;
+    private int fittedHeightSpec = -1;
+
+    private FlatGridView linksFlat;
+    private FlatGridView actionsFlat;
+
+    private AboutListAdapter listAdapter;
+    private AboutListAdapter.LinksDecoration listDecoration;
+
+    private AboutBuilder bound;
+    private ColorStateList labelColor;
+
+    // Shown for the colors left at 0 on the builder, from the layout or the last applied theme
+    private ColorStateList primaryColor;
+    private ColorStateList secondaryColor;
+    private int defaultCardColor;
+
+    private static final int MAX_POOLED_CELLS = 8;
+    // Least part of the height the recycled grids get, when the rest of the card is taller
+    private static final int MIN_RECYCLED_GRID_FRACTION = 4;
+    // Cells taken out of the grids, by layout, ready to show another item
+    private final SparseArray<List<View>> cellPool = new SparseArray<>();
+
+    // Cell of each item by id, checked on lookup since recycled cells move to other items
+    private final SparseArray<View> itemViews = new SparseArray<>();
+
+    private boolean itemsSyncPending = false;
+    // Change counts of the bound lists the cells last followed, the lists go unheard while detached
+    private int syncedLinkChanges;
+    private int syncedActionChanges;
+
+    private final ItemList.OnChangeListener itemsListener = new ItemList.OnChangeListener() {
+        @Override
+        public void onItemsChanged(@NonNull ItemList items) {
+            // Changes made in a row are applied together
+            if (!itemsSyncPending) {
+                itemsSyncPending = true;
+                post(itemsSync);
+            }
+        }
+    };
+
+    private final Runnable itemsSync = new Runnable() {
+        @Override
+        public void run() {
+            itemsSyncPending = false;
+
+            if (bound != null && cvHolder != null)
+                syncItems(bound);
+        }
+    };
 
 
     public AboutView(@NonNull Context context) {
@@ -80,7 +166,11 @@ public final class AboutView extends FrameLayout {
         ViewGroup holder = this;
         ViewGroup.LayoutParams lp = new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
 
-        if (bundle.isWrapScrollView()) {
+        if (bundle.isRenderAsList()) {
+            // The list scrolls by itself
+            lp = new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT);
+        } else if (bundle.isWrapScrollView() && !bundle.isVirtualizedItems()) {
+            // Not with virtualized items, they would all be laid out for the scroll view
             lp = new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT);
             ScrollView scrollView = new ScrollView(getContext());
             scrollView.setLayoutParams(lp);
@@ -92,42 +182,87 @@ public final class AboutView extends FrameLayout {
 
         setLayoutParams(lp);
 
-        layoutInflater.inflate(R.layout.xab_about_layout_card, holder);
+        // The list rendering moves the nested card sections around, so it keeps the nested card
+        int layout = bundle.isFlatLayout() && !bundle.isRenderAsList() ? R.layout.xab_about_layout_card_flat : R.layout.xab_about_layout_card;
+        layoutInflater.inflate(layout, holder);
     }
 
-    private void bind() {
+    /**
+     * Inflates the card and only the optional sections the builder has content for, the others
+     * stay as stubs and their views are null.
+     */
+    private void prepare(AboutBuilder bundle) {
+        init(bundle);
+
         cvHolder = findViewById(R.id.card_holder);
-        ivPhoto = findViewById(R.id.photo);
-        ivCover = findViewById(R.id.cover);
         tvName = findViewById(R.id.name);
         tvSubTitle = findViewById(R.id.sub_title);
-        tvBrief = findViewById(R.id.brief);
-        tvAppName = findViewById(R.id.app_name);
-        tvAppTitle = findViewById(R.id.app_title);
-        ivAppIcon = findViewById(R.id.app_icon);
 
-        vLinks = findViewById(R.id.links);
-        vActions = findViewById(R.id.actions);
-        appHolder = findViewById(R.id.app_holder);
+        primaryColor = tvName.getTextColors();
+        secondaryColor = tvSubTitle.getTextColors();
+        defaultCardColor = getCardColor();
+
+        inflateSections(bundle);
     }
 
-    public void build(@NonNull AboutBuilder bundle) {
-        init(bundle);
-        bind();
+    /**
+     * Inflates the sections the builder has content for, if not done yet.
+     */
+    private void inflateSections(AboutBuilder bundle) {
+        if (bundle.getCover() != null || bundle.getCoverRes() != -1 || bundle.getAnimatedCover() != null)
+            ivCover = inflateSection(R.id.cover);
 
-        setupCard(bundle);
+        if (bundle.getPhoto() != null || bundle.getPhotoRes() != -1)
+            ivPhoto = inflateSection(R.id.photo);
 
-        tvName.setText(bundle.getName());
-        VisibleUtil.handle(tvName, bundle.getName());
+        if (!TextUtils.isEmpty(bundle.getBrief()))
+            tvBrief = inflateSection(R.id.brief);
 
-        tvSubTitle.setText(bundle.getSubTitle());
-        VisibleUtil.handle(tvSubTitle, bundle.getSubTitle());
+        if (!bundle.getLinks().isEmpty())
+            vLinks = inflateSection(R.id.links);
+
+        if (!TextUtils.isEmpty(bundle.getAppName()))
+            inflateSection(R.id.app_holder);
+
+        // Children of the app holder on the nested card, always there on the flat one
+        appHolder = findSection(R.id.app_holder);
+        tvAppName = findSection(R.id.app_name);
+        tvAppTitle = findSection(R.id.app_title);
+        ivAppIcon = findSection(R.id.app_icon);
+        vActions = findSection(R.id.actions);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private <T extends View> T findSection(int id) {
+        View view = findViewById(id);
+        return view instanceof ViewStub ? null : (T) view;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private <T extends View> T inflateSection(int id) {
+        View view = findViewById(id);
 
-        tvBrief.setText(bundle.getBrief());
-        VisibleUtil.handle(tvBrief, bundle.getBrief());
+        if (view instanceof ViewStub)
+            view = ((ViewStub) view).inflate();
 
-        tvAppName.setText(bundle.getAppName());
-        tvAppTitle.setText(bundle.getAppTitle());
+        return (T) view;
+    }
+
+    public void build(@NonNull AboutBuilder bundle) {
+        // Already inflated when built async
+        if (cvHolder == null)
+            prepare(bundle);
+
+        observe(bundle);
+        bound = bundle;
+        itemsSynced(bundle);
+
+        lowOverdraw = bundle.isLowOverdraw();
+        setupCard(bundle);
+
+        setupTexts(bundle);
 
         setupBitmaps(bundle);
 
@@ -138,56 +273,707 @@ public final class AboutView extends FrameLayout {
         if (bundle.getBackgroundColor() != 0)
             cvHolder.setCardBackgroundColor(bundle.getBackgroundColor());
 
-        VisibleUtil.handle(appHolder, bundle.getAppName());
+        if (bundle.isAutoTheme())
+            setupAutoTheme(bundle);
 
-        if (appHolder.getVisibility() == VISIBLE)
-            setDivider(bundle, appHolder);
+        setupAppHolder(bundle);
+
+        // Every cell and grid setting below ends up in one layout pass per grid
+        setupGrids(bundle);
+
+        if (bundle.isRenderAsList()) {
+            setupList(bundle);
+        } else {
+            if (vLinks != null)
+                loadLinks(bundle);
+
+            if (vActions != null)
+                loadActions(bundle);
+        }
+
+        endGrids();
+    }
+
+    /**
+     * Binds the card to a new builder, touching only what differs from the one it is bound to.
+     * Links and actions are matched by item: new ones are added, missing ones removed and the
+     * others moved or bound again only when they changed. Switching how the card is rendered,
+     * like {@link AboutBuilder#setRenderAsList(boolean)}, builds it again from scratch.
+     * <p>
+     * Pass a new builder rather than the bound one edited: only the texts and the items can be
+     * compared with what is shown. Items of the new builder take over the cells of the ones with
+     * the same {@link Item#getKey() key}, and images decoded again from the same source are
+     * recognized as unchanged. Colors set back to 0 return to the theme ones.
+     *
+     * @param bundle the new content
+     */
+    public void update(@NonNull AboutBuilder bundle) {
+        AboutBuilder old = bound;
+
+        if (old == null || cvHolder == null || needsRebuild(old, bundle)) {
+            rebuild(bundle);
+            return;
+        }
+
+        observe(bundle);
+        bound = bundle;
+        itemsSynced(bundle);
+        inflateSections(bundle);
+
+        setupTexts(bundle);
+
+        boolean coverChanged = !BitmapUtil.same(bundle.getCover(), old.getCover()) || bundle.getCoverRes() != old.getCoverRes()
+                || bundle.getAnimatedCover() != old.getAnimatedCover()
+                || bundle.getCoverBlurRadius() != old.getCoverBlurRadius()
+                || bundle.getCoverScrimColor() != old.getCoverScrimColor();
+
+        boolean photoChanged = !BitmapUtil.same(bundle.getPhoto(), old.getPhoto()) || bundle.getPhotoRes() != old.getPhotoRes()
+                || bundle.isCircularPhoto() != old.isCircularPhoto();
+
+        if (coverChanged && ivCover != null)
+            setupCover(bundle);
+
+        if (photoChanged && ivPhoto != null)
+            setupPhoto(bundle);
+
+        if ((!BitmapUtil.same(bundle.getAppIcon(), old.getAppIcon()) || bundle.getAppIconRes() != old.getAppIconRes()) && ivAppIcon != null)
+            setBitmap(ivAppIcon, bundle.getAppIcon(), bundle.getAppIconRes());
+
+        boolean colorsChanged = bundle.getNameColor() != old.getNameColor()
+                || bundle.getSubTitleColor() != old.getSubTitleColor()
+                || bundle.getBriefColor() != old.getBriefColor()
+                || bundle.getIconColor() != old.getIconColor()
+                || bundle.getBackgroundColor() != old.getBackgroundColor()
+                || bundle.getDividerColor() != old.getDividerColor()
+                || bundle.getDividerHeight() != old.getDividerHeight()
+                || bundle.getDividerDashWidth() != old.getDividerDashWidth()
+                || bundle.getDividerDashGap() != old.getDividerDashGap()
+                || bundle.isShowDivider() != old.isShowDivider()
+                || bundle.isAutoTheme() != old.isAutoTheme();
+
+        if (colorsChanged) {
+            // A palette still on its way was picked for the old colors
+            paletteRequest++;
+            setCardColor(bundle.getBackgroundColor() != 0 ? bundle.getBackgroundColor() : defaultCardColor);
+
+            isDarker = null;
+            iconColor = bundle.getIconColor();
+            dividerColor = 0;
+            setupTextColors(bundle);
+        }
+
+        if (bundle.isAutoTheme() && (colorsChanged || coverChanged || photoChanged))
+            setupAutoTheme(bundle);
 
-        setDivider(bundle, vLinks);
+        setupAppHolder(bundle);
+        setupGrids(bundle);
 
-        if (bundle.getLinksColumnsCount() != 0)
-            vLinks.setColumnCount(bundle.getLinksColumnsCount());
+        if (listAdapter != null) {
+            listAdapter.setItems(bundle.getLinks(), bundle.getActions());
+        } else {
+            if (vLinks != null)
+                updateLinks(bundle);
 
-        if (bundle.getActionsColumnsCount() != 0)
-            vActions.setColumnCount(bundle.getActionsColumnsCount());
+            if (vActions != null)
+                updateActions(bundle);
+        }
 
-        vLinks.setVisibility(bundle.getLinks().isEmpty() ? GONE : VISIBLE);
-        vActions.setVisibility(bundle.getActions().isEmpty() ? GONE : VISIBLE);
+        if (colorsChanged)
+            refreshItemColors(bundle);
 
-        loadLinks(bundle);
-        loadActions(bundle);
+        endGrids();
     }
 
-    private void setupTextColors(AboutBuilder bundle) {
-        setTextColor(tvName, bundle.getNameColor());
-        setTextColor(tvSubTitle, bundle.getSubTitleColor());
-        setTextColor(tvBrief, bundle.getBriefColor());
+    /**
+     * Follows the links and actions of the builder, replacing the ones of the builder bound before.
+     */
+    private void observe(AboutBuilder bundle) {
+        if (bound != null && bound != bundle)
+            unobserve(bound);
+
+        // Registered once attached, so a builder outliving the view doesn't hold on to it
+        if (ViewCompat.isAttachedToWindow(this)) {
+            bundle.getLinkList().addOnChangeListener(itemsListener);
+            bundle.getActionList().addOnChangeListener(itemsListener);
+        }
+    }
+
+    private void unobserve(AboutBuilder bundle) {
+        bundle.getLinkList().removeOnChangeListener(itemsListener);
+        bundle.getActionList().removeOnChangeListener(itemsListener);
+    }
+
+    /**
+     * Notes that the cells follow the lists as they are now, so an attach can tell whether they
+     * changed while nobody was listening.
+     */
+    private void itemsSynced(AboutBuilder bundle) {
+        syncedLinkChanges = bundle.getLinkList().getChangeCount();
+        syncedActionChanges = bundle.getActionList().getChangeCount();
+    }
+
+    /**
+     * Adds and removes the cells of the items that changed on the builder lists since it was
+     * built. Existing cells stay as they are and don't play the entrance again.
+     */
+    private void syncItems(AboutBuilder bundle) {
+        itemsSynced(bundle);
+
+        if (listAdapter != null) {
+            listAdapter.setItems(bundle.getLinks(), bundle.getActions());
+            return;
+        }
+
+        inflateSections(bundle);
+        setupGrids(bundle);
+
+        if (vLinks != null)
+            updateLinks(bundle);
+
+        if (vActions != null)
+            updateActions(bundle);
+
+        endGrids();
+    }
+
+    /**
+     * Recolors the card for another theme the way it would look if built under it: card color,
+     * texts, icon tint, dividers and ripples. Only colors change, nothing is inflated or loaded
+     * again. Colors set on the builder are kept.
+     *
+     * @param theme style to take the text colors and the background color from
+     */
+    public void applyTheme(@StyleRes int theme) {
+        if (bound == null || cvHolder == null)
+            return;
+
+        // Sorted by attribute id
+        TypedArray a = new ContextThemeWrapper(getContext(), theme).obtainStyledAttributes(new int[]{
+                android.R.attr.colorBackground, android.R.attr.textColorPrimary, android.R.attr.textColorSecondary});
+        int background = a.getColor(0, Color.WHITE);
+        ColorStateList primary = a.getColorStateList(1);
+        ColorStateList secondary = a.getColorStateList(2);
+        a.recycle();
+
+        // Not every theme defines the text colors, the current ones stay then
+        if (primary == null)
+            primary = primaryColor;
+
+        if (secondary == null)
+            secondary = labelColor != null ? labelColor : secondaryColor;
+
+        // Same pick CardView makes for its default color
+        float[] hsv = new float[3];
+        Color.colorToHSV(background, hsv);
+        defaultCardColor = ContextCompat.getColor(getContext(), hsv[2] > 0.5f ? R.color.cardview_light_background : R.color.cardview_dark_background);
+
+        int cardColor = bound.getBackgroundColor() != 0 ? bound.getBackgroundColor() : defaultCardColor;
+
+        cvHolder.setCardBackgroundColor(cardColor);
+        // Their ripples are made for the old card color
+        cellPool.clear();
+        isDarker = null;
+        iconColor = bound.getIconColor();
+        dividerColor = 0;
+        labelColor = secondary;
+        primaryColor = primary;
+        secondaryColor = secondary;
+
+        setupTextColors(bound);
+        themeText(tvAppName, 0, primary);
+        themeText(tvAppTitle, 0, secondary);
+
+        if (bound.isAutoTheme())
+            setupAutoTheme(bound);
+
+        if (vLinks != null)
+            themeCells(vLinks);
+
+        if (vActions != null)
+            themeCells(vActions);
+
+        if (linksFlat != null) {
+            linksFlat.setLabelColor(secondary.getDefaultColor());
+            linksFlat.setRippleColor(cardColor, lowOverdraw);
+        }
+
+        if (actionsFlat != null) {
+            actionsFlat.setLabelColor(secondary.getDefaultColor());
+            actionsFlat.setRippleColor(cardColor, lowOverdraw);
+        }
+
+        // Also rebinds the recycled cells, which pick up the labels and the ripples there
+        refreshItemColors(bound);
     }
 
-    private void setTextColor(@NonNull TextView tv, int color) {
+    private void themeText(@Nullable TextView tv, int color, @Nullable ColorStateList themeColor) {
+        if (tv == null || themeColor == null)
+            return;
+
         if (color != 0)
             tv.setTextColor(color);
+        else
+            tv.setTextColor(themeColor);
     }
 
-    @SuppressWarnings("ResourceAsColor")
-    private void setDivider(AboutBuilder bundle, @NonNull View holder) {
-        if (bundle.isShowDivider()) {
+    private void themeCells(ViewGroup holder) {
+        for (int i = 0; i < holder.getChildCount(); i++) {
+            View cell = holder.getChildAt(i);
+            TextView tvLabel = cell.findViewById(R.id.label);
 
-            int color = bundle.getDividerColor();
+            // Skips the single recycled or drawn grid
+            if (tvLabel == null)
+                continue;
 
-            if (color == 0)
-                color = isDarker() ? Color.GRAY : getNameColor();
+            prepareItem(cell);
+            if (labelColor != null)
+                tvLabel.setTextColor(labelColor);
+        }
+    }
+
+    /**
+     * Changes the card can't take in place, they need it inflated again.
+     */
+    private boolean needsRebuild(AboutBuilder old, AboutBuilder bundle) {
+        if (old.isRenderAsList() != bundle.isRenderAsList()
+                || old.isFlatLayout() != bundle.isFlatLayout()
+                || old.isVirtualizedItems() != bundle.isVirtualizedItems()
+                || old.isFlatGrids() != bundle.isFlatGrids()
+                || old.isWrapScrollView() != bundle.isWrapScrollView()
+                || old.isShowAsCard() != bundle.isShowAsCard()
+                || old.isLowOverdraw() != bundle.isLowOverdraw())
+            return true;
+
+        // The recycled grids take their columns once
+        boolean columnsChanged = old.getLinksColumnsCount() != bundle.getLinksColumnsCount()
+                || old.getActionsColumnsCount() != bundle.getActionsColumnsCount()
+                || old.getLinksMinCellWidth() != bundle.getLinksMinCellWidth()
+                || old.getActionsMinCellWidth() != bundle.getActionsMinCellWidth();
+
+        if (bundle.isVirtualizedItems() && columnsChanged)
+            return true;
+
+        // The list has no place for a section that was not there when it was set up
+        return bundle.isRenderAsList() && (columnsChanged
+                || old.getLinks().isEmpty() != bundle.getLinks().isEmpty()
+                || TextUtils.isEmpty(old.getAppName()) != TextUtils.isEmpty(bundle.getAppName()));
+    }
 
-            GradientDrawable drawable = ((GradientDrawable) ((LayerDrawable) holder.getBackground()).findDrawableByLayerId(R.id.stroke));
+    private void rebuild(AboutBuilder bundle) {
+        if (stagger != null)
+            stagger.cancel();
+
+        if (ivCover != null) {
+            AnimatedCoverDrawable.cancel(ivCover);
+            if (ivCover.getDrawable() instanceof Animatable)
+                ((Animatable) ivCover.getDrawable()).stop();
+        }
 
-            if (drawable != null) {
-                drawable.setStroke(bundle.getDividerHeight(), color, bundle.getDividerDashWidth(), bundle.getDividerDashGap());
+        removeAllViews();
+
+        cvHolder = null;
+        ivPhoto = null;
+        ivCover = null;
+        cardBackground = null;
+        tvName = null;
+        tvSubTitle = null;
+        tvBrief = null;
+        tvAppName = null;
+        tvAppTitle = null;
+        ivAppIcon = null;
+        appHolder = null;
+        vLinks = null;
+        vActions = null;
+
+        linksAdapter = null;
+        actionsAdapter = null;
+        linksRecycled = null;
+        actionsRecycled = null;
+        linksFlat = null;
+        actionsFlat = null;
+        listAdapter = null;
+        listDecoration = null;
+        stagger = null;
+
+        isDarker = null;
+        iconColor = 0;
+        dividerColor = 0;
+        labelColor = null;
+        cellPool.clear();
+        itemViews.clear();
+        // Drops the results still on their way for the old card
+        paletteRequest++;
+        coverEffectRequest++;
+
+        build(bundle);
+    }
+
+    private void setupTexts(AboutBuilder bundle) {
+        setText(tvName, bundle.getName());
+        VisibleUtil.handle(tvName, bundle.getName());
+
+        setText(tvSubTitle, bundle.getSubTitle());
+        VisibleUtil.handle(tvSubTitle, bundle.getSubTitle());
+
+        if (tvBrief != null) {
+            setText(tvBrief, bundle.getBrief());
+            VisibleUtil.handle(tvBrief, bundle.getBrief());
+        }
+
+        if (tvAppName != null) {
+            setText(tvAppName, bundle.getAppName());
+            setText(tvAppTitle, bundle.getAppTitle());
+        }
+    }
+
+    private void setText(@NonNull TextView tv, @Nullable String text) {
+        // Unchanged texts are left alone, so an update doesn't measure them again
+        if (!TextUtils.equals(tv.getText(), text))
+            TextPrecompute.setText(tv, text);
+    }
+
+    private void setupAppHolder(AboutBuilder bundle) {
+        if (appHolder == null)
+            return;
+
+        VisibleUtil.handle(appHolder, bundle.getAppName());
+
+        // On the flat card the app views are siblings of the app holder, not children
+        int visibility = appHolder.getVisibility();
+        boolean hasIcon = bundle.getAppIcon() != null || bundle.getAppIconRes() != -1;
+        ivAppIcon.setVisibility(visibility == VISIBLE && hasIcon ? VISIBLE : GONE);
+        tvAppName.setVisibility(visibility);
+        tvAppTitle.setVisibility(visibility);
+        anchorAppTexts(hasIcon);
+
+        if (visibility == VISIBLE)
+            setDivider(bundle, appHolder);
+    }
+
+    /**
+     * On the flat card the app texts are centered on the icon. Without an icon they would collapse
+     * against the divider, so they hang from the app holder instead, as low as the icon would be.
+     */
+    private void anchorAppTexts(boolean hasIcon) {
+        if (!(tvAppName.getLayoutParams() instanceof ConstraintLayout.LayoutParams))
+            return;
+
+        ConstraintLayout.LayoutParams name = (ConstraintLayout.LayoutParams) tvAppName.getLayoutParams();
+        ConstraintLayout.LayoutParams title = (ConstraintLayout.LayoutParams) tvAppTitle.getLayoutParams();
+        int top = hasIcon ? R.id.app_icon : R.id.app_holder;
+
+        if (name.topToTop == top)
+            return;
+
+        name.topToTop = top;
+        name.topMargin = hasIcon ? 0 : ((MarginLayoutParams) ivAppIcon.getLayoutParams()).topMargin;
+        title.bottomToBottom = hasIcon ? R.id.app_icon : ConstraintLayout.LayoutParams.UNSET;
+        tvAppName.setLayoutParams(name);
+        tvAppTitle.setLayoutParams(title);
+    }
+
+    /**
+     * Applies the columns and cell settings, holding the grids layout until {@link #endGrids()}.
+     */
+    private void setupGrids(AboutBuilder bundle) {
+        float density = getResources().getDisplayMetrics().density;
+
+        if (vLinks != null) {
+            setDivider(bundle, vLinks);
+            vLinks.beginBatch();
+
+            if (bundle.getLinksColumnsCount() != 0)
+                vLinks.setColumnCount(bundle.getLinksColumnsCount());
+
+            vLinks.setMinCellWidth((int) (bundle.getLinksMinCellWidth() * density + 0.5f));
+            vLinks.setUniformCells(bundle.isLinksUniformCells());
+            vLinks.setVisibility(bundle.getLinks().isEmpty() ? GONE : VISIBLE);
+        }
+
+        if (vActions != null) {
+            vActions.beginBatch();
+
+            if (bundle.getActionsColumnsCount() != 0)
+                vActions.setColumnCount(bundle.getActionsColumnsCount());
+
+            vActions.setMinCellWidth((int) (bundle.getActionsMinCellWidth() * density + 0.5f));
+            vActions.setUniformCells(bundle.isActionsUniformCells());
+            vActions.setVisibility(bundle.getActions().isEmpty() || appHolder.getVisibility() != VISIBLE ? GONE : VISIBLE);
+        }
+    }
+
+    private void endGrids() {
+        if (vLinks != null)
+            vLinks.endBatch();
+
+        if (vActions != null)
+            vActions.endBatch();
+
+        // The sections may have changed, the recycled grids share the height again
+        fittedWidthSpec = -1;
+        fittedHeightSpec = -1;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if ((linksRecycled != null || actionsRecycled != null)
+                && (widthMeasureSpec != fittedWidthSpec || heightMeasureSpec != fittedHeightSpec)) {
+            fitRecycledGrids(widthMeasureSpec, heightMeasureSpec);
+            fittedWidthSpec = widthMeasureSpec;
+            fittedHeightSpec = heightMeasureSpec;
+        }
+
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    }
+
+    /**
+     * Caps the recycled grids so the card fits the height the about view is given, each of them
+     * scrolling its own cells. Given any height, inside a scrolling parent, they lay out all of
+     * their cells instead. Only runs again when the specs or the sections change.
+     */
+    private void fitRecycledGrids(int widthMeasureSpec, int heightMeasureSpec) {
+        ItemRecyclerView[] grids = linksRecycled == null ? new ItemRecyclerView[]{actionsRecycled}
+                : actionsRecycled == null ? new ItemRecyclerView[]{linksRecycled}
+                : new ItemRecyclerView[]{linksRecycled, actionsRecycled};
+
+        if (MeasureSpec.getMode(heightMeasureSpec) == MeasureSpec.UNSPECIFIED) {
+            for (ItemRecyclerView grid : grids) {
+                grid.setMaxHeight(0);
             }
+            return;
+        }
+
+        // Height of the card without the grids
+        for (ItemRecyclerView grid : grids) {
+            grid.setMaxHeight(1);
+        }
+
+        super.onMeasure(widthMeasureSpec, MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+        int rest = getMeasuredHeight();
+        for (ItemRecyclerView grid : grids) {
+            rest -= grid.getMeasuredHeight();
+        }
+
+        // Even when the rest of the card leaves no room, the grids keep some to scroll in
+        int limit = MeasureSpec.getSize(heightMeasureSpec);
+        int share = Math.max(limit - rest, limit / MIN_RECYCLED_GRID_FRACTION) / grids.length;
+        for (ItemRecyclerView grid : grids) {
+            grid.setMaxHeight(share);
+        }
+
+        if (grids.length < 2)
+            return;
+
+        // A grid needing less than its share leaves the rest to the other one
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        for (int i = 0; i < grids.length; i++) {
+            if (!grids[i].isCapped()) {
+                grids[1 - i].setMaxHeight(share * 2 - grids[i].getMeasuredHeight());
+                break;
+            }
+        }
+    }
+
+    /**
+     * Inflates the card now, measures its texts and item labels on the background thread and
+     * builds it back on the UI thread once they are ready. The view stays invisible until then,
+     * so the placeholder content of the layout never shows.
+     */
+    public void buildAsync(@NonNull final AboutBuilder bundle, @Nullable final AboutBuilder.OnBuildListener listener) {
+        prepare(bundle);
+
+        final boolean hidden = getVisibility() == VISIBLE;
+        if (hidden)
+            setVisibility(INVISIBLE);
+
+        final PrecomputedTextCompat.Params nameParams = TextPrecompute.params(tvName);
+        final PrecomputedTextCompat.Params subTitleParams = TextPrecompute.params(tvSubTitle);
+        final PrecomputedTextCompat.Params briefParams = tvBrief == null ? null : TextPrecompute.params(tvBrief);
+        final PrecomputedTextCompat.Params appNameParams = tvAppName == null ? null : TextPrecompute.params(tvAppName);
+        final PrecomputedTextCompat.Params appTitleParams = tvAppTitle == null ? null : TextPrecompute.params(tvAppTitle);
+        final PrecomputedTextCompat.Params linkParams = labelParams(R.layout.xab_each_link);
+        final PrecomputedTextCompat.Params actionParams = labelParams(R.layout.xab_each_action);
+
+        final String name = bundle.getName();
+        final String subTitle = bundle.getSubTitle();
+        final String brief = bundle.getBrief();
+        final String appName = bundle.getAppName();
+        final String appTitle = bundle.getAppTitle();
+        final String[] linkLabels = labels(bundle.getLinks());
+        final String[] actionLabels = labels(bundle.getActions());
+
+        TaskUtil.background(new Runnable() {
+            @Override
+            public void run() {
+                TextPrecompute.precompute(name, nameParams);
+                TextPrecompute.precompute(subTitle, subTitleParams);
+                TextPrecompute.precompute(brief, briefParams);
+                TextPrecompute.precompute(appName, appNameParams);
+                TextPrecompute.precompute(appTitle, appTitleParams);
+
+                for (String label : linkLabels)
+                    TextPrecompute.precompute(label, linkParams);
+
+                for (String label : actionLabels)
+                    TextPrecompute.precompute(label, actionParams);
+
+                TaskUtil.main(new Runnable() {
+                    @Override
+                    public void run() {
+                        build(bundle);
+
+                        // Unless the caller changed the visibility meanwhile
+                        if (hidden && getVisibility() == INVISIBLE)
+                            setVisibility(VISIBLE);
+
+                        if (listener != null)
+                            listener.onBuild(AboutView.this);
+                    }
+                });
+            }
+        });
+    }
+
+    private PrecomputedTextCompat.Params labelParams(int layout) {
+        TextView tvLabel = layoutInflater.inflate(layout, null).findViewById(R.id.label);
+        return TextPrecompute.params(tvLabel);
+    }
+
+    private String[] labels(List<Item> items) {
+        String[] labels = new String[items.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = items.get(i).getLabel();
+        }
+        return labels;
+    }
+
+    private void setupTextColors(AboutBuilder bundle) {
+        themeText(tvName, bundle.getNameColor(), primaryColor);
+        themeText(tvSubTitle, bundle.getSubTitleColor(), secondaryColor);
+        themeText(tvBrief, bundle.getBriefColor(), secondaryColor);
+    }
+
+    private void setupAutoTheme(final AboutBuilder bundle) {
+        boolean hasCover = bundle.getCover() != null || bundle.getCoverRes() != -1;
+        final Bitmap bitmap = hasCover ? bundle.getCover() : bundle.getPhoto();
+        final int res = hasCover ? bundle.getCoverRes() : bundle.getPhotoRes();
+
+        if (bitmap == null && res == -1)
+            return;
+
+        final int cardColor = getCardColor();
+        final CoverPalette.Key key = CoverPalette.key(bitmap, res, cardColor);
+        CoverPalette palette = CoverPalette.get(key);
+
+        if (palette != null) {
+            // Same image already sampled, apply before the items are even added
+            applyPalette(bundle, palette);
+            return;
+        }
+
+        final int request = ++paletteRequest;
+        TaskUtil.background(new Runnable() {
+            @Override
+            public void run() {
+                final CoverPalette extracted = CoverPalette.extract(getResources(), bitmap, res, cardColor, key);
+
+                if (extracted != null) {
+                    TaskUtil.main(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (request == paletteRequest) {
+                                applyPalette(bundle, extracted);
+                                refreshItemColors(bundle);
+                            }
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    private void applyPalette(AboutBuilder bundle, CoverPalette palette) {
+        if (bundle.getNameColor() == 0)
+            tvName.setTextColor(palette.getNameColor());
+
+        if (bundle.getSubTitleColor() == 0)
+            tvSubTitle.setTextColor(palette.getSubTitleColor());
+
+        if (bundle.getBriefColor() == 0 && tvBrief != null)
+            tvBrief.setTextColor(palette.getBriefColor());
+
+        if (bundle.getIconColor() == 0)
+            iconColor = palette.getIconColor();
+
+        if (bundle.getDividerColor() == 0)
+            dividerColor = palette.getDividerColor();
+    }
+
+    private void refreshItemColors(AboutBuilder bundle) {
+        if (vLinks != null)
+            tintIcons(vLinks);
+
+        if (vActions != null)
+            tintIcons(vActions);
+
+        if (linksAdapter != null)
+            linksAdapter.notifyDataSetChanged();
+
+        if (actionsAdapter != null)
+            actionsAdapter.notifyDataSetChanged();
+
+        if (linksFlat != null)
+            linksFlat.setIconColor(getIconColor());
+
+        if (actionsFlat != null)
+            actionsFlat.setIconColor(getIconColor());
+
+        if (listAdapter != null) {
+            setListDivider(bundle);
+            listAdapter.notifyItemRangeChanged(1, listAdapter.getItemCount() - 1);
+        }
+
+        if (appHolder != null && appHolder.getVisibility() == VISIBLE)
+            setDivider(bundle, appHolder);
+
+        if (vLinks != null)
+            setDivider(bundle, vLinks);
+    }
+
+    private void tintIcons(@NonNull ViewGroup holder) {
+        for (int i = 0; i < holder.getChildCount(); i++) {
+            ImageView ivIcon = holder.getChildAt(i).findViewById(R.id.icon);
+
+            if (ivIcon != null)
+                ivIcon.setColorFilter(getIconColor(), PorterDuff.Mode.SRC_IN);
+        }
+    }
+
+    private void setDivider(AboutBuilder bundle, @NonNull View holder) {
+        if (bundle.isShowDivider()) {
+            Drawable divider = DividerDrawable.get(getResources(), getDividerColor(bundle),
+                    bundle.getDividerHeight(), bundle.getDividerDashWidth(), bundle.getDividerDashGap());
+
+            // The layout background is shared by every card, it is replaced rather than changed
+            if (!DividerDrawable.same(holder.getBackground(), divider))
+                RippleUtil.background(holder, divider);
         } else {
             RippleUtil.background(holder, (Drawable) null);
         }
     }
 
+    private int getDividerColor(AboutBuilder bundle) {
+        int color = bundle.getDividerColor();
+
+        if (color == 0)
+            color = dividerColor;
+
+        if (color == 0)
+            color = isDarker() ? Color.GRAY : getNameColor();
+
+        return color;
+    }
+
     private int getNameColor() {
         return tvName.getCurrentTextColor();
     }
@@ -203,6 +989,30 @@ public final class AboutView extends FrameLayout {
         return cvHolder.getCardBackgroundColor().getDefaultColor();
     }
 
+    /**
+     * Also gives the cells ripples made for the new color.
+     */
+    private void setCardColor(int color) {
+        if (color == getCardColor())
+            return;
+
+        cvHolder.setCardBackgroundColor(color);
+        cellPool.clear();
+        isDarker = null;
+
+        if (vLinks != null)
+            themeCells(vLinks);
+
+        if (vActions != null)
+            themeCells(vActions);
+
+        if (linksFlat != null)
+            linksFlat.setRippleColor(color, lowOverdraw);
+
+        if (actionsFlat != null)
+            actionsFlat.setRippleColor(color, lowOverdraw);
+    }
+
     private int getIconColor() {
         if (iconColor == 0)
             iconColor = isDarker() ? Color.WHITE : getNameColor();
@@ -211,76 +1021,382 @@ public final class AboutView extends FrameLayout {
     }
 
     private void setupBitmaps(AboutBuilder bundle) {
+        if (ivCover != null)
+            setupCover(bundle);
+
+        if (ivPhoto != null)
+            setupPhoto(bundle);
+
+        if (ivAppIcon != null)
+            setBitmap(ivAppIcon, bundle.getAppIcon(), bundle.getAppIconRes());
+    }
+
+    private void setupCover(AboutBuilder bundle) {
+        if (ivCover.getDrawable() instanceof Animatable)
+            ((Animatable) ivCover.getDrawable()).stop();
+
+        // An effect or animation still decoding for the previous cover must not land on this one
+        coverEffectRequest++;
+        AnimatedCoverDrawable.cancel(ivCover);
+
         setBitmap(ivCover, bundle.getCover(), bundle.getCoverRes());
-        setCircularBitmap(ivPhoto, bundle.getPhoto(), bundle.getPhotoRes(), bundle.isCircularPhoto());
-        setBitmap(ivAppIcon, bundle.getAppIcon(), bundle.getAppIconRes());
+        if (bundle.getAnimatedCover() != null)
+            AnimatedCoverDrawable.into(ivCover, bundle.getAnimatedCover(), bundle.getAnimatedCoverMaxMemory());
+        else if (bundle.hasCoverEffect())
+            setupCoverEffect(bundle);
+
+        // The effects keep the cover opaque, animated frames may not be
+        if (cardBackground != null)
+            cardBackground.setCoverOpaque(bundle.getAnimatedCover() == null && isOpaque(ivCover));
+    }
+
+    private static boolean isOpaque(ImageView iv) {
+        Drawable drawable = iv.getDrawable();
+        ImageView.ScaleType scaleType = iv.getScaleType();
+        return iv.getVisibility() == VISIBLE && drawable != null && drawable.getOpacity() == PixelFormat.OPAQUE
+                && (scaleType == ImageView.ScaleType.CENTER_CROP || scaleType == ImageView.ScaleType.FIT_XY);
+    }
+
+    private void setupPhoto(AboutBuilder bundle) {
+        ivPhoto.setImageDrawable(null);
+        RippleUtil.background(ivPhoto, (Drawable) null);
+
+        // Clipped to a circle inside a border, or shown as it is
+        ivPhoto.setOval(bundle.isCircularPhoto());
+        ivPhoto.setBorderWidth(bundle.isCircularPhoto() ? getResources().getDimension(R.dimen.profile_picture_border) : 0);
+        setBitmap(ivPhoto, bundle.getPhoto(), bundle.getPhotoRes());
+    }
+
+    private void setupCoverEffect(AboutBuilder bundle) {
+        final Bitmap bitmap = bundle.getCover();
+        final int res = bundle.getCoverRes();
+
+        if (bitmap == null && res == -1)
+            return;
+
+        final CoverEffect.Key key = CoverEffect.key(bitmap, res, bundle.getCoverBlurRadius(), bundle.getCoverScrimColor());
+        Bitmap cached = CoverEffect.get(key);
+
+        if (cached != null) {
+            ivCover.setImageBitmap(cached);
+            return;
+        }
+
+        final int request = ++coverEffectRequest;
+        TaskUtil.background(new Runnable() {
+            @Override
+            public void run() {
+                final Bitmap output = CoverEffect.apply(getResources(), bitmap, res, key);
+
+                if (output != null) {
+                    TaskUtil.main(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (request == coverEffectRequest)
+                                ivCover.setImageBitmap(output);
+                        }
+                    });
+                }
+            }
+        });
     }
 
     private void setBitmap(@NonNull ImageView iv, @Nullable Bitmap bitmap, int res) {
         if (bitmap == null && res == -1) {
             iv.setVisibility(GONE);
-        } else if (bitmap != null)
+            return;
+        }
+
+        iv.setVisibility(VISIBLE);
+        if (bitmap != null)
             iv.setImageBitmap(bitmap);
         else
             iv.setImageResource(res);
     }
 
-    private void setCircularBitmap(@NonNull ImageView iv, @Nullable Bitmap bitmap, int res, boolean isCircular) {
-        if (bitmap == null && res == -1) {
-            iv.setVisibility(GONE);
-        } else {
-            if (isCircular) {
-                Drawable[] layers;
-                if (bitmap != null)
-                    layers = new Drawable[]{
-                            ContextCompat.getDrawable(getContext(), R.drawable.circular_shape),
-                            new BitmapDrawable(getResources(), bitmap)
-                    };
-                else
-                    layers = new Drawable[]{
-                            ContextCompat.getDrawable(getContext(), R.drawable.circular_shape),
-                            ContextCompat.getDrawable(getContext(), res)
-                    };
-                iv.setBackground(new LayerDrawable(layers));
-            } else if (bitmap != null)
-                iv.setImageBitmap(bitmap);
-            else
-                iv.setImageResource(res);
+    private void loadLinks(AboutBuilder bundle) {
+        if (bundle.isVirtualizedItems()) {
+            linksRecycled = loadRecycled(vLinks, bundle.getLinks(), R.layout.xab_each_link);
+            linksAdapter = (ItemAdapter) linksRecycled.getAdapter();
+            return;
         }
-    }
 
-    private void loadLinks(AboutBuilder bundle) {
+        if (bundle.isFlatGrids()) {
+            linksFlat = loadFlat(vLinks, bundle.getLinks(), FlatGridView.STYLE_LINK);
+            return;
+        }
+
+        // A second build starts the entrance over instead of queuing behind the first one
+        if (stagger != null)
+            stagger.cancel();
+
+        stagger = bundle.isLinksAnimated() ? new StaggerAnimator(getContext()) : null;
+
         for (Item item : bundle.getLinks()) {
             View v = addItem(vLinks, R.layout.xab_each_link, item);
 
-            if (bundle.isLinksAnimated())
-                animate(v);
+            if (stagger != null)
+                stagger.add(v);
         }
-    }
-
-    private void animate(final View v) {
-        v.setVisibility(INVISIBLE);
-
-        animationDelay += 20;
 
-        new Handler().postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                v.setVisibility(VISIBLE);
-                v.startAnimation(AnimationUtils.loadAnimation(getContext(), R.anim.expand_in));
-            }
-        }, animationDelay);
+        if (stagger != null)
+            stagger.start();
     }
 
     private void loadActions(AboutBuilder bundle) {
+        if (bundle.isVirtualizedItems()) {
+            actionsRecycled = loadRecycled(vActions, bundle.getActions(), R.layout.xab_each_action);
+            actionsAdapter = (ItemAdapter) actionsRecycled.getAdapter();
+            return;
+        }
+
+        if (bundle.isFlatGrids()) {
+            actionsFlat = loadFlat(vActions, bundle.getActions(), FlatGridView.STYLE_ACTION);
+            return;
+        }
+
         for (Item item : bundle.getActions()) {
             addItem(vActions, R.layout.xab_each_action, item);
         }
     }
 
+    /**
+     * Moves the card content into one recycling list. The header and the app holder, already
+     * bound, become a row each, and every link and action becomes its own row, inflated only
+     * when scrolled to.
+     */
+    private void setupList(AboutBuilder bundle) {
+        ViewGroup content = (ViewGroup) tvName.getParent();
+        ViewGroup header = (ViewGroup) content.getParent();
+        boolean hasApp = appHolder != null && appHolder.getVisibility() == VISIBLE;
+
+        if (vLinks != null)
+            content.removeView(vLinks);
+
+        if (appHolder != null)
+            content.removeView(appHolder);
+
+        if (vActions != null)
+            ((ViewGroup) vActions.getParent()).removeView(vActions);
+
+        cvHolder.removeView(header);
+        cvHolder.getLayoutParams().height = ViewGroup.LayoutParams.MATCH_PARENT;
+
+        listAdapter = new AboutListAdapter(this, header, hasApp ? appHolder : null,
+                bundle.getLinks(), bundle.getActions(),
+                vLinks == null ? 1 : vLinks.getColumnCount(),
+                vActions == null ? Math.max(1, bundle.getActionsColumnsCount()) : vActions.getColumnCount());
+
+        GridLayoutManager layoutManager = new GridLayoutManager(getContext(), listAdapter.getSpanCount());
+        GridLayoutManager.SpanSizeLookup lookup = listAdapter.spanSizeLookup();
+        layoutManager.setSpanSizeLookup(lookup);
+
+        RecyclerView rv = new RecyclerView(getContext());
+        // Change animations would ask for a second header or app row
+        rv.setItemAnimator(null);
+        AboutListAdapter.keepSingleRows(rv);
+        rv.setLayoutManager(layoutManager);
+        rv.setAdapter(listAdapter);
+        rv.setClipToPadding(false);
+        rv.setPadding(0, 0, 0, content.getPaddingBottom());
+
+        listDecoration = new AboutListAdapter.LinksDecoration(listAdapter, lookup,
+                getResources().getDimensionPixelSize(R.dimen.social_media_vertical_padding));
+        setListDivider(bundle);
+        rv.addItemDecoration(listDecoration);
+
+        cvHolder.addView(rv, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+    }
+
+    private void setListDivider(AboutBuilder bundle) {
+        listDecoration.setStroke(getResources(), getDividerColor(bundle), bundle.isShowDivider() ? bundle.getDividerHeight() : 0,
+                bundle.getDividerDashWidth(), bundle.getDividerDashGap());
+    }
+
+    /**
+     * Puts a single drawn grid in the section, spanning all its columns and taking the
+     * column setup of the section.
+     */
+    private FlatGridView loadFlat(AutoFitGridLayout holder, List<Item> items, int style) {
+        FlatGridView grid = new FlatGridView(getContext());
+        grid.setStyle(style);
+        grid.setColumnCount(holder.getColumnCount());
+        grid.setMinCellWidth(holder.getMinCellWidth());
+        grid.setIconColor(getIconColor());
+        grid.setRippleColor(getCardColor(), lowOverdraw);
+        grid.setItems(items);
+
+        AutoFitGridLayout.LayoutParams params = new AutoFitGridLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+        params.span = Integer.MAX_VALUE;
+
+        holder.addView(grid, params);
+        return grid;
+    }
+
+    /**
+     * Puts a single recycled grid in the section, spanning all its columns and taking the
+     * column setup of the section.
+     */
+    private ItemRecyclerView loadRecycled(AutoFitGridLayout holder, List<Item> items, int layout) {
+        ItemRecyclerView rv = new ItemRecyclerView(getContext());
+        rv.setColumnCount(holder.getColumnCount());
+        rv.setMinCellWidth(holder.getMinCellWidth());
+
+        ItemAdapter adapter = new ItemAdapter(this, items, layout);
+        rv.setItemAdapter(adapter);
+
+        AutoFitGridLayout.LayoutParams params = new AutoFitGridLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+        params.span = Integer.MAX_VALUE;
+
+        holder.addView(rv, params);
+        return rv;
+    }
+
     private View addItem(ViewGroup holder, int layout, Item item) {
+        return addItem(holder, layout, item, -1);
+    }
+
+    private View addItem(ViewGroup holder, int layout, Item item, int index) {
+        View view = obtainCell(layout);
+        bindItem(view, item);
+
+        AutoFitGridLayout.LayoutParams params = new AutoFitGridLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+        params.span = item.getSpan();
+
+        holder.addView(view, index, params);
+        return view;
+    }
+
+    private View obtainCell(int layout) {
+        List<View> pool = cellPool.get(layout);
+        if (pool != null && !pool.isEmpty())
+            return pool.remove(pool.size() - 1);
+
         View view = layoutInflater.inflate(layout, null);
-        view.setId(item.getId());
+        prepareItem(view);
+        return view;
+    }
+
+    private void recycleCell(int layout, View cell) {
+        List<View> pool = cellPool.get(layout);
+        if (pool == null) {
+            pool = new ArrayList<>(MAX_POOLED_CELLS);
+            cellPool.put(layout, pool);
+        }
+
+        if (pool.size() < MAX_POOLED_CELLS) {
+            // Could be removed halfway through the entrance
+            cell.setScaleX(1);
+            cell.setScaleY(1);
+            pool.add(cell);
+        }
+    }
+
+    private void updateLinks(AboutBuilder bundle) {
+        if (linksAdapter != null) {
+            linksAdapter.setItems(bundle.getLinks());
+        } else if (linksFlat != null) {
+            linksFlat.setColumnCount(vLinks.getColumnCount());
+            linksFlat.setMinCellWidth(vLinks.getMinCellWidth());
+            linksFlat.setItems(bundle.getLinks());
+        } else if (bundle.isVirtualizedItems() || bundle.isFlatGrids()) {
+            // The section was only inflated now
+            loadLinks(bundle);
+        } else {
+            updateItems(vLinks, R.layout.xab_each_link, bundle.getLinks());
+        }
+    }
+
+    private void updateActions(AboutBuilder bundle) {
+        if (actionsAdapter != null) {
+            actionsAdapter.setItems(bundle.getActions());
+        } else if (actionsFlat != null) {
+            actionsFlat.setColumnCount(vActions.getColumnCount());
+            actionsFlat.setMinCellWidth(vActions.getMinCellWidth());
+            actionsFlat.setItems(bundle.getActions());
+        } else if (bundle.isVirtualizedItems() || bundle.isFlatGrids()) {
+            loadActions(bundle);
+        } else {
+            updateItems(vActions, R.layout.xab_each_action, bundle.getActions());
+        }
+    }
+
+    /**
+     * Makes the cells of the grid follow the items, keeping the views of the items still there.
+     * The grid is batched by the caller, so all of it lays out once.
+     */
+    private void updateItems(AutoFitGridLayout holder, int layout, List<Item> items) {
+        // Backwards, so of the cells sharing a key the first one is matched
+        Map<String, View> cells = new HashMap<>(holder.getChildCount());
+        for (int i = holder.getChildCount() - 1; i >= 0; i--) {
+            View cell = holder.getChildAt(i);
+
+            if (cell.getTag() instanceof ItemSnapshot)
+                cells.put(((ItemSnapshot) cell.getTag()).getKey(), cell);
+        }
+
+        View[] matched = new View[items.size()];
+        Set<View> keep = new HashSet<>(items.size());
+        for (int i = 0; i < matched.length; i++) {
+            matched[i] = cells.remove(items.get(i).getKey());
+
+            if (matched[i] != null)
+                keep.add(matched[i]);
+        }
+
+        for (int i = holder.getChildCount() - 1; i >= 0; i--) {
+            View cell = holder.getChildAt(i);
+
+            if (!keep.contains(cell)) {
+                if (itemViews.get(cell.getId()) == cell)
+                    itemViews.remove(cell.getId());
+
+                holder.removeViewAt(i);
+                recycleCell(layout, cell);
+            }
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            View cell = matched[i];
+
+            if (cell == null) {
+                addItem(holder, layout, item, i);
+                continue;
+            }
+
+            if (holder.getChildAt(i) != cell) {
+                holder.removeView(cell);
+                holder.addView(cell, i);
+            }
+
+            ItemSnapshot snapshot = (ItemSnapshot) cell.getTag();
+
+            if (!snapshot.looksLike(item)) {
+                bindItem(cell, item);
+                ((AutoFitGridLayout.LayoutParams) cell.getLayoutParams()).span = item.getSpan();
+            } else if (!snapshot.matches(item)) {
+                adoptItem(cell, item);
+            }
+        }
+    }
+
+    int getRippleColor() {
+        return getCardColor();
+    }
+
+    void prepareItem(View view) {
+        if (lowOverdraw)
+            RippleUtil.backgroundMaskedRipple(view, getCardColor());
+        else
+            RippleUtil.backgroundRipple(view, getCardColor());
+    }
+
+    void bindItem(View view, Item item) {
+        adoptItem(view, item);
 
         TextView tvLabel = view.findViewById(R.id.label);
         ImageView ivIcon = view.findViewById(R.id.icon);
@@ -291,13 +1407,23 @@ public final class AboutView extends FrameLayout {
         } else
             Icon.on(ivIcon).bitmap(item.getIcon()).color(getIconColor()).put();
 
-        tvLabel.setText(item.getLabel());
-        view.setOnClickListener(item.getOnClick());
+        TextPrecompute.setText(tvLabel, item.getLabel());
+        if (labelColor != null)
+            tvLabel.setTextColor(labelColor);
+    }
 
-        RippleUtil.backgroundRipple(view, getCardColor());
+    /**
+     * Hands the cell over to an item that looks the same as the one it shows, without binding
+     * it again.
+     */
+    void adoptItem(View view, Item item) {
+        if (itemViews.get(view.getId()) == view)
+            itemViews.remove(view.getId());
 
-        holder.addView(view);
-        return view;
+        view.setId(item.getId());
+        itemViews.put(item.getId(), view);
+        view.setTag(new ItemSnapshot(item));
+        view.setOnClickListener(item.getOnClick());
     }
 
     private void setupCard(AboutBuilder bundle) {
@@ -310,18 +1436,140 @@ public final class AboutView extends FrameLayout {
 
             ((LayoutParams) cvHolder.getLayoutParams()).setMargins(0, 0, 0, 0);
         }
+
+        // The cover paints over the top of the card, no need to fill it beneath
+        if (lowOverdraw && ivCover != null && cardBackground == null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP)
+            cardBackground = CardBackgroundDrawable.install(cvHolder, ivCover);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        if (bound != null)
+            observe(bound);
+
+        if (bound != null && !itemsSyncPending && (bound.getLinkList().getChangeCount() != syncedLinkChanges
+                || bound.getActionList().getChangeCount() != syncedActionChanges)) {
+            itemsSyncPending = true;
+            post(itemsSync);
+        }
+
+        if (ivCover != null && ivCover.getDrawable() instanceof Animatable)
+            ((Animatable) ivCover.getDrawable()).start();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        if (stagger != null)
+            stagger.cancel();
+
+        if (bound != null)
+            unobserve(bound);
+
+        if (ivCover != null && ivCover.getDrawable() instanceof Animatable)
+            ((Animatable) ivCover.getDrawable()).stop();
+
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * Short summary of what the card costs: the views inflated, the hierarchy depth and the
+     * optional sections left as stubs, with the views they would have added. The skipped
+     * sections are inflated unattached just to count them, so keep this for diagnostics.
+     */
+    @NonNull
+    public String getMemoryReport() {
+        int[] stats = new int[3];
+        StringBuilder skipped = new StringBuilder();
+        countViews(this, 1, stats, skipped);
+
+        String report = "views: " + stats[0] + ", depth: " + stats[1] + ", views avoided: " + stats[2];
+        return skipped.length() == 0 ? report : report + " (" + skipped + ")";
+    }
+
+    private void countViews(View view, int depth, int[] stats, StringBuilder skipped) {
+        if (view instanceof ViewStub) {
+            ViewStub stub = (ViewStub) view;
+            int[] section = new int[3];
+            countViews(layoutInflater.inflate(stub.getLayoutResource(), null), 1, section, skipped);
+
+            if (skipped.length() > 0)
+                skipped.append(", ");
+
+            skipped.append(getResources().getResourceEntryName(stub.getId())).append(": ").append(section[0]);
+            stats[2] += section[0];
+            return;
+        }
+
+        stats[0]++;
+        stats[1] = Math.max(stats[1], depth);
+
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                countViews(group.getChildAt(i), depth + 1, stats, skipped);
+            }
+        }
     }
 
     public CardView getHolder() {
         return cvHolder;
     }
 
+    /**
+     * Finds the view of an item, looking up the cells bound so far first and walking the card
+     * only when none of them has the id, as before, so any view of the card with that id is
+     * still found. With virtualized items or the list rendering only the cells currently bound
+     * have a view, so items scrolled away return null. Flat grids have no view per item.
+     */
     public View findItem(int id) {
-        return cvHolder.findViewById(id);
+        View view = itemViews.get(id);
+
+        // Rebound to another item, or out of the grid
+        if (view != null && (view.getId() != id || view.getParent() == null)) {
+            if (view.getId() != id)
+                itemViews.remove(id);
+
+            view = null;
+        }
+
+        if (view == null && cvHolder != null)
+            view = cvHolder.findViewById(id);
+
+        return view;
     }
 
     public View findItem(Item item) {
         return findItem(item.getId());
     }
 
+    /**
+     * Visited by {@link #forEachItem(ItemVisitor)}.
+     */
+    public interface ItemVisitor {
+        void visit(@NonNull Item item, @NonNull View view);
+    }
+
+    /**
+     * Calls the visitor for every link and then every action that has a view, in order.
+     * Items without one, as explained on {@link #findItem(int)}, are skipped.
+     */
+    public void forEachItem(@NonNull ItemVisitor visitor) {
+        if (bound == null)
+            return;
+
+        visitItems(bound.getLinks(), visitor);
+        visitItems(bound.getActions(), visitor);
+    }
+
+    private void visitItems(List<Item> items, ItemVisitor visitor) {
+        for (Item item : items) {
+            View view = findItem(item.getId());
+
+            if (view != null)
+                visitor.visit(item, view);
+        }
+    }
+
 }
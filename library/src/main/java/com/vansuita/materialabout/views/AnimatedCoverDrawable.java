@@ -0,0 +1,364 @@
+package com.vansuita.materialabout.views;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.ImageDecoder;
+import android.graphics.Movie;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Animatable;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.Size;
+import android.view.Choreographer;
+import android.view.View;
+import android.widget.ImageView;
+
+import com.vansuita.materialabout.util.TaskUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.ViewCompat;
+
+/**
+ * Animated GIF cover. Frames are rendered on the background thread into a small ring of reused
+ * bitmaps and shown on the UI thread at the {@link Choreographer} pace, each once the time
+ * elapsed since the animation started reaches the movie time it was rendered for.
+ */
+@SuppressWarnings("deprecation")
+public final class AnimatedCoverDrawable extends Drawable implements Animatable, Choreographer.FrameCallback {
+
+    private static final String TAG = "AnimatedCoverDrawable";
+
+    public static final int DEFAULT_MAX_RING_BYTES = 4 * 1024 * 1024;
+
+    private static final int RING_SIZE = 3;
+    // Movie time between two rendered frames, when the decoder keeps up
+    private static final int FRAME_INTERVAL_MS = 50;
+    private static final int OFFSCREEN_POLL_MS = 250;
+
+    // Frames keep coming for as long as the cover animates, so they don't queue behind other work
+    private static final Executor frameExecutor = TaskUtil.newBackgroundExecutor("MaterialAbout-frames");
+
+    // Latest request of each image view, touched only on the UI thread.
+    private static final Map<ImageView, Object> requests = new WeakHashMap<>();
+
+    private final Movie movie;
+    private final int duration;
+    private final float renderScale;
+    private final Bitmap[] ring;
+    private final Canvas decodeCanvas = new Canvas();
+    private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final Rect visibleRect = new Rect();
+
+    // Guarded by ring: the shown slot, how many decoded slots are queued after it, the movie
+    // time each slot was rendered for and the slot last handed to a canvas, which may still be
+    // read by the render thread after the shown one moved on.
+    private int shownSlot = -1;
+    private int readyCount = 0;
+    private final long[] slotTimes;
+    private int drawnSlot = -1;
+    private boolean decoding = false;
+    private volatile boolean running = false;
+
+    // Uptime the animation time counts from, moved forward across stops so it resumes in place
+    private volatile long startMillis = 0;
+    private long stoppedAtMillis = 0;
+
+    // Touched only by the decoder thread.
+    private long nextRenderTime = 0;
+
+    private final Runnable decodeTask = new Runnable() {
+        @Override
+        public void run() {
+            while (true) {
+                int slot;
+                synchronized (ring) {
+                    slot = nextFreeSlot();
+                    if (!running || slot < 0) {
+                        decoding = false;
+                        return;
+                    }
+                }
+
+                // Never behind the clock, frames falling behind are rendered for the current time
+                long time = Math.max(nextRenderTime, elapsedMillis());
+                renderFrame(ring[slot], time);
+                nextRenderTime = time + FRAME_INTERVAL_MS;
+
+                synchronized (ring) {
+                    slotTimes[slot] = time;
+                    readyCount++;
+                }
+            }
+        }
+    };
+
+    private AnimatedCoverDrawable(@NonNull Movie movie, int maxRingBytes) {
+        this.movie = movie;
+        this.duration = movie.duration();
+
+        int width = Math.max(movie.width(), 1);
+        int height = Math.max(movie.height(), 1);
+        long ringBytes = (long) width * height * 4 * RING_SIZE;
+
+        // Shrink the rendered frames until the whole ring fits the memory cap
+        renderScale = ringBytes > maxRingBytes ? (float) Math.sqrt(maxRingBytes / (double) ringBytes) : 1f;
+
+        ring = new Bitmap[RING_SIZE];
+        slotTimes = new long[RING_SIZE];
+        for (int i = 0; i < RING_SIZE; i++) {
+            ring[i] = Bitmap.createBitmap(Math.max((int) (width * renderScale), 1),
+                    Math.max((int) (height * renderScale), 1), Bitmap.Config.ARGB_8888);
+        }
+    }
+
+    /**
+     * Decodes the animated image off the UI thread and puts it on the image view once ready,
+     * unless another image was requested for the view since.
+     * GIFs use the frame ring on every API level; other animated formats (e.g. WebP) use the
+     * platform decoder on Android P and up, and only show their first frame below that.
+     */
+    public static void into(@NonNull final ImageView iv, @NonNull final byte[] data, final int maxRingBytes) {
+        final Object request = new Object();
+        requests.put(iv, request);
+
+        TaskUtil.background(new Runnable() {
+            @Override
+            public void run() {
+                final Drawable drawable = decode(iv, data, maxRingBytes);
+
+                if (drawable != null) {
+                    TaskUtil.main(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (requests.get(iv) != request)
+                                return;
+
+                            requests.remove(iv);
+                            iv.setImageDrawable(drawable);
+                            iv.setVisibility(View.VISIBLE);
+
+                            if (drawable instanceof Animatable && ViewCompat.isAttachedToWindow(iv))
+                                ((Animatable) drawable).start();
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the decode still running for the image view, if any, so it won't replace whatever
+     * the view shows next.
+     */
+    public static void cancel(@NonNull ImageView iv) {
+        requests.remove(iv);
+    }
+
+    @Nullable
+    private static Drawable decode(@NonNull ImageView iv, @NonNull byte[] data, int maxRingBytes) {
+        try {
+            if (isGif(data)) {
+                Movie movie = Movie.decodeByteArray(data, 0, data.length);
+                if (movie != null)
+                    return new AnimatedCoverDrawable(movie, maxRingBytes);
+            } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+                return decodePlatform(data, maxRingBytes);
+            }
+
+            Bitmap bitmap = BitmapFactory.decodeByteArray(data, 0, data.length);
+            return bitmap == null ? null : new BitmapDrawable(iv.getResources(), bitmap);
+        } catch (Exception e) {
+            Log.w(TAG, "Unable to decode the animated cover", e);
+            return null;
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.P)
+    private static Drawable decodePlatform(@NonNull byte[] data, final int maxRingBytes) throws IOException {
+        return ImageDecoder.decodeDrawable(ImageDecoder.createSource(ByteBuffer.wrap(data)), new ImageDecoder.OnHeaderDecodedListener() {
+            @Override
+            public void onHeaderDecoded(@NonNull ImageDecoder decoder, @NonNull ImageDecoder.ImageInfo info, @NonNull ImageDecoder.Source source) {
+                Size size = info.getSize();
+                // The platform keeps two frames alive while animating
+                long frameBytes = (long) size.getWidth() * size.getHeight() * 4 * 2;
+                int sampleSize = 1;
+                while (frameBytes / ((long) sampleSize * sampleSize) > maxRingBytes)
+                    sampleSize *= 2;
+                decoder.setTargetSampleSize(sampleSize);
+            }
+        });
+    }
+
+    private static boolean isGif(@NonNull byte[] data) {
+        return data.length > 3 && data[0] == 'G' && data[1] == 'I' && data[2] == 'F';
+    }
+
+    private long elapsedMillis() {
+        return SystemClock.uptimeMillis() - startMillis;
+    }
+
+    /**
+     * @return the slot after the queued ones, or -1 when it is the shown or the last drawn one
+     */
+    private int nextFreeSlot() {
+        if (readyCount >= ring.length - 1)
+            return -1;
+
+        int slot = (shownSlot + 1 + readyCount) % ring.length;
+        return slot == shownSlot || slot == drawnSlot ? -1 : slot;
+    }
+
+    private void renderFrame(@NonNull Bitmap target, long time) {
+        target.eraseColor(Color.TRANSPARENT);
+        decodeCanvas.setBitmap(target);
+        decodeCanvas.save();
+        decodeCanvas.scale(renderScale, renderScale);
+        movie.setTime(duration > 0 ? (int) (time % duration) : 0);
+        movie.draw(decodeCanvas, 0, 0);
+        decodeCanvas.restore();
+        decodeCanvas.setBitmap(null);
+    }
+
+    private void scheduleDecode() {
+        synchronized (ring) {
+            if (decoding || nextFreeSlot() < 0)
+                return;
+
+            decoding = true;
+        }
+
+        frameExecutor.execute(decodeTask);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running)
+            return;
+
+        if (!isOnScreen()) {
+            // Don't spend frames while scrolled away, just check back now and then
+            Choreographer.getInstance().postFrameCallbackDelayed(this, OFFSCREEN_POLL_MS);
+            return;
+        }
+
+        long elapsed = elapsedMillis();
+        boolean advanced = false;
+
+        // Shows the latest frame that is due, skipping the ones left behind while away
+        synchronized (ring) {
+            while (readyCount > 0 && slotTimes[(shownSlot + 1) % ring.length] <= elapsed) {
+                shownSlot = (shownSlot + 1) % ring.length;
+                readyCount--;
+                advanced = true;
+            }
+        }
+
+        if (advanced)
+            invalidateSelf();
+
+        scheduleDecode();
+
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    private boolean isOnScreen() {
+        Callback callback = getCallback();
+        if (callback instanceof View) {
+            View view = (View) callback;
+            return view.isShown() && view.getGlobalVisibleRect(visibleRect);
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        if (running)
+            return;
+
+        startMillis = SystemClock.uptimeMillis() - stoppedAtMillis;
+        running = true;
+        scheduleDecode();
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @Override
+    public void stop() {
+        if (running)
+            stoppedAtMillis = elapsedMillis();
+
+        running = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        boolean changed = super.setVisible(visible, restart);
+
+        if (visible)
+            start();
+        else
+            stop();
+
+        return changed;
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        int slot;
+        synchronized (ring) {
+            slot = shownSlot;
+            drawnSlot = slot;
+        }
+
+        if (slot >= 0)
+            canvas.drawBitmap(ring[slot], null, getBounds(), paint);
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return movie.width();
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return movie.height();
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        paint.setAlpha(alpha);
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        paint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+}
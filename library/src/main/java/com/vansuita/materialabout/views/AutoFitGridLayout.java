@@ -1,11 +1,12 @@
 package com.vansuita.materialabout.views;
 
 import android.content.Context;
+import android.content.res.TypedArray;
 import android.util.AttributeSet;
 import android.view.View;
 import android.view.ViewGroup;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Created by jrvansuita on 10/02/17.
@@ -13,15 +14,61 @@ import java.util.ArrayList;
 
 public final class AutoFitGridLayout extends ViewGroup {
 
+    private static final int UNSPECIFIED_HEIGHT_SPEC = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+
     private int verticalSpace;
 
     private int horizontalSpace;
 
     private int columnCount = 2;
 
+    private int requestedColumnCount = 2;
+
+    private int minCellWidth;
+
+    // Content width the column count was last derived from, in min cell width mode
+    private int adaptiveWidth = -1;
+
     private int childWidth;
 
-    private ArrayList<View> notGoneViewList;
+    private boolean uniformCells = false;
+
+    private int uniformCellHeight;
+
+    // Child indexes of the not gone children, kept up to date as children come and go
+    private int[] visibleIndexes = new int[8];
+
+    private int visibleCount;
+
+    private boolean visibleIndexesDirty;
+
+    // Span, row and column of each visible child, kept between passes
+    private int[] cellSpans = new int[0];
+    private int[] cellRows = new int[0];
+    private int[] cellColumns = new int[0];
+    private int rowCount;
+    private int assignedColumnCount;
+
+    // Bumped whenever children are added, removed or change between gone and not gone.
+    private int layoutGeneration;
+
+    // What the last measure pass was computed for
+    private int measuredWidthSpec = -1;
+    private int measuredColumnCount;
+    private int measuredHorizontalSpace;
+    private int measuredVerticalSpace;
+    private int measuredPaddingLeft;
+    private int measuredPaddingRight;
+    private int measuredGeneration = -1;
+
+    // Row heights found during measure, reused by layout
+    private int[] rowHeights = new int[0];
+
+    private int measureCount;
+
+    // Nesting depth of beginBatch() calls and whether a layout was asked for meanwhile
+    private int batchDepth;
+    private boolean batchLayoutPending;
 
     public AutoFitGridLayout(Context context) {
         super(context);
@@ -35,25 +82,157 @@ public final class AutoFitGridLayout extends ViewGroup {
         super(context, attrs, defStyleAttr);
     }
 
-    private void refreshNotGoneChildList() {
-        if (notGoneViewList == null) {
-            notGoneViewList = new ArrayList<>();
-        }
-        notGoneViewList.clear();
+    /**
+     * Checks the visible indexes against the children, rebuilding them in place if any child
+     * changed between gone and not gone.
+     *
+     * @return true if the visible children changed.
+     */
+    private boolean syncVisibleIndexes() {
         int childCount = getChildCount();
-        for (int i = 0; i < childCount; i++) {
-            View child = getChildAt(i);
+        boolean changed = visibleIndexesDirty;
+
+        if (!changed) {
+            int k = 0;
+            for (int i = 0; i < childCount && !changed; i++) {
+                boolean visible = getChildAt(i).getVisibility() != GONE;
+                boolean listed = k < visibleCount && visibleIndexes[k] == i;
+                changed = visible != listed;
+                if (listed) {
+                    k++;
+                }
+            }
+            changed |= k != visibleCount;
+        }
+
+        if (changed) {
+            ensureVisibleCapacity(childCount);
+            visibleCount = 0;
+            for (int i = 0; i < childCount; i++) {
+                if (getChildAt(i).getVisibility() != GONE) {
+                    visibleIndexes[visibleCount++] = i;
+                }
+            }
+            visibleIndexesDirty = false;
+        }
+
+        return changed;
+    }
+
+    private void ensureVisibleCapacity(int capacity) {
+        if (visibleIndexes.length < capacity) {
+            int[] grown = new int[Math.max(capacity, visibleIndexes.length * 2)];
+            System.arraycopy(visibleIndexes, 0, grown, 0, visibleCount);
+            visibleIndexes = grown;
+        }
+    }
+
+    private View getVisibleChild(int index) {
+        return getChildAt(visibleIndexes[index]);
+    }
+
+    @Override
+    public void onViewAdded(View child) {
+        super.onViewAdded(child);
+        layoutGeneration++;
+
+        // Appending is the common case and keeps the indexes valid, anything else rebuilds them
+        int index = indexOfChild(child);
+        if (!visibleIndexesDirty && index == getChildCount() - 1) {
             if (child.getVisibility() != GONE) {
-                notGoneViewList.add(child);
+                ensureVisibleCapacity(visibleCount + 1);
+                visibleIndexes[visibleCount++] = index;
             }
+        } else {
+            visibleIndexesDirty = true;
+        }
+    }
+
+    @Override
+    public void onViewRemoved(View child) {
+        super.onViewRemoved(child);
+        layoutGeneration++;
+
+        // Depending on how it was removed, the child may already be gone from the children or
+        // not yet, so its index can't be trusted here. The indexes are rebuilt in place instead.
+        visibleIndexesDirty = true;
+    }
+
+    /**
+     * Number of times a child was measured by this layout. Children whose cached measure is
+     * still valid are not counted, because they are skipped.
+     */
+    public int getMeasureCount() {
+        return measureCount;
+    }
+
+    /**
+     * Starts a batch of changes. Until the matching {@link #endBatch()}, added children and
+     * setters don't request a layout, so filling the grid costs a single layout pass.
+     * Batches can be nested.
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch started with {@link #beginBatch()}, requesting one layout if anything
+     * changed during it.
+     */
+    public void endBatch() {
+        if (batchDepth == 0) {
+            return;
+        }
+        batchDepth--;
+        if (batchDepth == 0 && batchLayoutPending) {
+            batchLayoutPending = false;
+            requestLayout();
+            invalidate();
+        }
+    }
+
+    public boolean isInBatch() {
+        return batchDepth > 0;
+    }
+
+    /**
+     * Adds all the views at the end of the grid with a single layout request.
+     */
+    public void addViews(List<View> views) {
+        beginBatch();
+        for (int i = 0; i < views.size(); i++) {
+            addView(views.get(i));
+        }
+        endBatch();
+    }
+
+    @Override
+    public void addView(View child, int index, ViewGroup.LayoutParams params) {
+        if (batchDepth > 0) {
+            addViewInLayout(child, index, params, true);
+            batchLayoutPending = true;
+        } else {
+            super.addView(child, index, params);
         }
     }
 
+    @Override
+    public void requestLayout() {
+        if (batchDepth > 0) {
+            batchLayoutPending = true;
+            return;
+        }
+        super.requestLayout();
+    }
+
     public int getVerticalSpace() {
         return verticalSpace;
     }
 
     public void setVerticalSpace(int verticalSpace) {
+        if (this.verticalSpace == verticalSpace) {
+            return;
+        }
         this.verticalSpace = verticalSpace;
         requestLayout();
     }
@@ -63,7 +242,11 @@ public final class AutoFitGridLayout extends ViewGroup {
     }
 
     public void setHorizontalSpace(int horizontalSpace) {
+        if (this.horizontalSpace == horizontalSpace) {
+            return;
+        }
         this.horizontalSpace = horizontalSpace;
+        adaptiveWidth = -1;
         requestLayout();
     }
 
@@ -71,80 +254,256 @@ public final class AutoFitGridLayout extends ViewGroup {
         return columnCount;
     }
 
+    public boolean isUniformCells() {
+        return uniformCells;
+    }
+
+    /**
+     * When all cells share the same layout, measures only the first one and gives its size
+     * to every other cell, so rows don't need to look for their tallest cell.
+     */
+    public void setUniformCells(boolean uniformCells) {
+        if (this.uniformCells == uniformCells) {
+            return;
+        }
+        this.uniformCells = uniformCells;
+        measuredGeneration = -1;
+        requestLayout();
+    }
+
     public void setColumnCount(int columnCount) {
-        this.columnCount = columnCount;
+        if (this.requestedColumnCount == columnCount) {
+            return;
+        }
+        this.requestedColumnCount = columnCount;
+        if (minCellWidth <= 0) {
+            this.columnCount = columnCount;
+        }
         requestLayout();
     }
 
+    public int getMinCellWidth() {
+        return minCellWidth;
+    }
+
+    /**
+     * Derives the column count from the measured width, fitting as many cells of at least
+     * this width as possible. The fixed column count is used again when set to 0.
+     *
+     * @param minCellWidth the minimum cell width in pixels
+     */
+    public void setMinCellWidth(int minCellWidth) {
+        if (this.minCellWidth == minCellWidth) {
+            return;
+        }
+        this.minCellWidth = minCellWidth;
+        adaptiveWidth = -1;
+        if (minCellWidth <= 0) {
+            columnCount = requestedColumnCount;
+        }
+        requestLayout();
+    }
+
+    /**
+     * Only runs again when the width changes, the cells then reflow on the next layout.
+     */
+    private void resolveColumnCount(int width) {
+        int available = width - getPaddingLeft() - getPaddingRight();
+        if (minCellWidth <= 0 || available == adaptiveWidth) {
+            return;
+        }
+        columnCount = Math.max(1, (available + horizontalSpace) / (minCellWidth + horizontalSpace));
+        adaptiveWidth = available;
+    }
+
+    /**
+     * Places the visible children in rows and columns, reusing the last assignment unless the
+     * children, their spans or the column count changed since.
+     *
+     * @return true if the assignment changed.
+     */
+    private boolean syncCells(boolean childrenChanged) {
+        boolean changed = childrenChanged || columnCount != assignedColumnCount;
+
+        for (int i = 0; i < visibleCount && !changed; i++) {
+            changed = spanOf(getVisibleChild(i)) != cellSpans[i];
+        }
+
+        if (!changed) {
+            return false;
+        }
+
+        if (cellSpans.length < visibleCount) {
+            int capacity = Math.max(visibleCount, cellSpans.length * 2);
+            cellSpans = new int[capacity];
+            cellRows = new int[capacity];
+            cellColumns = new int[capacity];
+        }
+
+        int row = 0;
+        int column = 0;
+        for (int i = 0; i < visibleCount; i++) {
+            int span = spanOf(getVisibleChild(i));
+            if (column + span > columnCount) {
+                row++;
+                column = 0;
+            }
+            cellSpans[i] = span;
+            cellRows[i] = row;
+            cellColumns[i] = column;
+            column += span;
+        }
+
+        rowCount = visibleCount == 0 ? 0 : row + 1;
+        assignedColumnCount = columnCount;
+        return true;
+    }
+
+    private int spanOf(View child) {
+        ViewGroup.LayoutParams params = child.getLayoutParams();
+        int span = params instanceof LayoutParams ? ((LayoutParams) params).span : 1;
+        return Math.max(1, Math.min(span, columnCount));
+    }
+
+    private int cellWidth(int span) {
+        return childWidth * span + horizontalSpace * (span - 1);
+    }
+
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        refreshNotGoneChildList();
+        boolean childrenChanged = syncVisibleIndexes();
         int parentWidth = MeasureSpec.getSize(widthMeasureSpec);
+        resolveColumnCount(parentWidth);
+        if (syncCells(childrenChanged)) {
+            layoutGeneration++;
+        }
         childWidth = (int) ((parentWidth - (columnCount - 1) * horizontalSpace * 1.0f) / columnCount + 0.5f);
-        int childCount = notGoneViewList.size();
-        int line = childCount % columnCount == 0 ? childCount / columnCount
-                : childCount / columnCount + 1;
-        int totalHeight = 0;
-        int childIndex = 0;
-        for (int i = 0; i < line; i++) {
-            int inlineHeight = 0;
-            for (int j = 0; j < columnCount; j++) {
-                childIndex = i * columnCount + j;
-                if (childIndex < childCount) {
-                    View child = notGoneViewList.get(childIndex);
-                    int childWidthWithPadding = childWidth;
-                    if (j == 0) {
-                        // measureChild会在size的基础上减掉paddingLeft和paddingRight，对于每一行第一个元素加上paddingRight抵消
-                        childWidthWithPadding += getPaddingRight();
-                    } else if (j == columnCount -1){
-                        // measureChild会在size的基础上减掉paddingLeft和paddingRight，对于每一行最后一个元素加上paddingLeft抵消
-                        childWidthWithPadding += getPaddingLeft();
-                    }
-                    measureChild(child,
-                            MeasureSpec.makeMeasureSpec(childWidthWithPadding, MeasureSpec.EXACTLY),
-                            MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
-                    int totalInlineChildHeight = child.getMeasuredHeight();
-                    if (totalInlineChildHeight > inlineHeight) {
-                        inlineHeight = totalInlineChildHeight;
-                    }
-                }
-            }
-            totalHeight += inlineHeight;
-            totalHeight += verticalSpace;
+        int childCount = visibleCount;
+
+        // Children only need measuring again if something they depend on changed,
+        // otherwise just the ones that asked for a new layout
+        boolean measureAll = widthMeasureSpec != measuredWidthSpec
+                || columnCount != measuredColumnCount
+                || horizontalSpace != measuredHorizontalSpace
+                || verticalSpace != measuredVerticalSpace
+                || getPaddingLeft() != measuredPaddingLeft
+                || getPaddingRight() != measuredPaddingRight
+                || layoutGeneration != measuredGeneration;
+
+        int totalHeight;
+        if (uniformCells) {
+            totalHeight = measureUniformCells(childCount, measureAll);
+        } else {
+            totalHeight = measureRows(childCount, measureAll);
         }
-        totalHeight -= verticalSpace;
         totalHeight += getPaddingTop() + getPaddingBottom();
+
+        measuredWidthSpec = widthMeasureSpec;
+        measuredColumnCount = columnCount;
+        measuredHorizontalSpace = horizontalSpace;
+        measuredVerticalSpace = verticalSpace;
+        measuredPaddingLeft = getPaddingLeft();
+        measuredPaddingRight = getPaddingRight();
+        measuredGeneration = layoutGeneration;
         setMeasuredDimension(getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec),
                 totalHeight);
     }
 
+    private int measureUniformCells(int childCount, boolean measureAll) {
+        if (childCount == 0) {
+            return 0;
+        }
+
+        View representative = getVisibleChild(0);
+        boolean heightChanged = false;
+        if (measureAll || representative.isLayoutRequested()) {
+            measureCell(representative, 0);
+            heightChanged = representative.getMeasuredHeight() != uniformCellHeight;
+            uniformCellHeight = representative.getMeasuredHeight();
+        }
+
+        int heightSpec = MeasureSpec.makeMeasureSpec(uniformCellHeight, MeasureSpec.EXACTLY);
+        for (int i = 1; i < childCount; i++) {
+            View child = getVisibleChild(i);
+            if (measureAll || heightChanged || child.isLayoutRequested()) {
+                int widthSpec = getChildMeasureSpec(MeasureSpec.makeMeasureSpec(edgeCellWidth(i), MeasureSpec.EXACTLY),
+                        getPaddingLeft() + getPaddingRight(), child.getLayoutParams().width);
+                child.measure(widthSpec, heightSpec);
+                measureCount++;
+            }
+        }
+
+        return rowCount * (uniformCellHeight + verticalSpace) - verticalSpace;
+    }
+
+    private int measureRows(int childCount, boolean measureAll) {
+        if (rowHeights.length < rowCount) {
+            rowHeights = new int[rowCount];
+        }
+        for (int i = 0; i < rowCount; i++) {
+            rowHeights[i] = 0;
+        }
+
+        for (int i = 0; i < childCount; i++) {
+            View child = getVisibleChild(i);
+            if (measureAll || child.isLayoutRequested()) {
+                measureCell(child, i);
+            }
+            int row = cellRows[i];
+            rowHeights[row] = Math.max(rowHeights[row], child.getMeasuredHeight());
+        }
+
+        int totalHeight = 0;
+        for (int i = 0; i < rowCount; i++) {
+            totalHeight += rowHeights[i];
+            totalHeight += verticalSpace;
+        }
+        totalHeight -= verticalSpace;
+        return totalHeight;
+    }
+
+    /**
+     * Width given to measureChild for the visible child at the index, so the padding it takes
+     * off is given back to the cells at the row edges.
+     */
+    private int edgeCellWidth(int index) {
+        int childWidthWithPadding = cellWidth(cellSpans[index]);
+        if (cellColumns[index] == 0) {
+            // measureChild会在size的基础上减掉paddingLeft和paddingRight，对于每一行第一个元素加上paddingRight抵消
+            childWidthWithPadding += getPaddingRight();
+        } else if (cellColumns[index] + cellSpans[index] == columnCount) {
+            // measureChild会在size的基础上减掉paddingLeft和paddingRight，对于每一行最后一个元素加上paddingLeft抵消
+            childWidthWithPadding += getPaddingLeft();
+        }
+        return childWidthWithPadding;
+    }
+
+    private void measureCell(View child, int index) {
+        measureChild(child,
+                MeasureSpec.makeMeasureSpec(edgeCellWidth(index), MeasureSpec.EXACTLY),
+                UNSPECIFIED_HEIGHT_SPEC);
+        measureCount++;
+    }
+
     @Override
     protected void onLayout(boolean changed, int l, int t, int r, int b) {
-        int childCount = notGoneViewList.size();
-        int line = childCount % columnCount == 0 ? childCount / columnCount
-                : childCount / columnCount + 1;
-        int childIndex = 0;
+        int childCount = visibleCount;
         int lastLeft = getPaddingLeft();
         int lastTop = getPaddingTop();
-        for (int i = 0; i < line; i++) {
-            int inlineHeight = 0;
-            for (int j = 0; j < columnCount; j++) {
-                childIndex = i * columnCount + j;
-                if (childIndex < childCount) {
-                    View child = notGoneViewList.get(childIndex);
-                    int childWidth = child.getMeasuredWidth();
-                    int childHeight = child.getMeasuredHeight();
-
-                    child.layout(lastLeft, lastTop, lastLeft + childWidth, lastTop + childHeight);
-                    lastLeft += (childWidth + horizontalSpace);
-                    int totalInlineChildHeight = child.getMeasuredHeight();
-                    if (totalInlineChildHeight > inlineHeight) {
-                        inlineHeight = totalInlineChildHeight;
-                    }
-                }
+        int row = 0;
+        for (int i = 0; i < childCount; i++) {
+            if (cellRows[i] != row) {
+                lastLeft = getPaddingLeft();
+                lastTop += ((uniformCells ? uniformCellHeight : rowHeights[row]) + verticalSpace);
+                row = cellRows[i];
             }
-            lastLeft = getPaddingLeft();
-            lastTop += (inlineHeight + verticalSpace);
+
+            View child = getVisibleChild(i);
+            int childWidth = child.getMeasuredWidth();
+            int childHeight = child.getMeasuredHeight();
+
+            child.layout(lastLeft, lastTop, lastLeft + childWidth, lastTop + childHeight);
+            lastLeft += (childWidth + horizontalSpace);
         }
     }
 
@@ -170,11 +529,21 @@ public final class AutoFitGridLayout extends ViewGroup {
 
     public static class LayoutParams extends MarginLayoutParams {
 
+        private static final int[] ATTRS = {android.R.attr.layout_span};
+
+        /**
+         * Number of columns the cell takes, read from {@code android:layout_span}.
+         */
+        public int span = 1;
+
         /**
          * {@inheritDoc}
          */
         public LayoutParams(Context c, AttributeSet attrs) {
             super(c, attrs);
+            TypedArray a = c.obtainStyledAttributes(attrs, ATTRS);
+            span = a.getInt(0, 1);
+            a.recycle();
         }
 
         /**
@@ -201,12 +570,13 @@ public final class AutoFitGridLayout extends ViewGroup {
 
         /**
          * Copy constructor. Clones the width, height, margin values, and
-         * gravity of the source.
+         * span of the source.
          *
          * @param source The layout params to copy from.
          */
         public LayoutParams(LayoutParams source) {
             super(source);
+            this.span = source.span;
         }
 
     }
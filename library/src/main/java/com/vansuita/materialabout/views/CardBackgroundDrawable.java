@@ -0,0 +1,175 @@
+package com.vansuita.materialabout.views;
+
+import android.annotation.TargetApi;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Outline;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewParent;
+
+import com.vansuita.materialabout.util.RippleUtil;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Card background of the low overdraw mode, drawn only below an opaque cover, which paints over
+ * the top of the card anyway. Wraps the drawable the card view made for itself, and the card
+ * view keeps its own reference to it, so its color, radius and elevation setters still apply.
+ * <p>
+ * Only used from Lollipop on, where the card shadow comes from the elevation and not from the
+ * background.
+ */
+@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+final class CardBackgroundDrawable extends Drawable implements Drawable.Callback {
+
+    private final Drawable card;
+    private final View holder;
+    private final View cover;
+
+    private boolean coverOpaque = false;
+
+    private CardBackgroundDrawable(@NonNull Drawable card, @NonNull View holder, @NonNull View cover) {
+        this.card = card;
+        this.holder = holder;
+        this.cover = cover;
+    }
+
+    /**
+     * Wraps the current background of the card.
+     *
+     * @return the new background, null if the card has none
+     */
+    @Nullable
+    static CardBackgroundDrawable install(@NonNull View holder, @NonNull View cover) {
+        Drawable card = holder.getBackground();
+        if (card == null)
+            return null;
+
+        CardBackgroundDrawable background = new CardBackgroundDrawable(card, holder, cover);
+        RippleUtil.background(holder, background);
+        // Replacing the background cleared the callback of the card drawable
+        card.setCallback(background);
+        return background;
+    }
+
+    /**
+     * @param coverOpaque true if the cover fills its bounds with an opaque image
+     */
+    void setCoverOpaque(boolean coverOpaque) {
+        if (this.coverOpaque != coverOpaque) {
+            this.coverOpaque = coverOpaque;
+            invalidateSelf();
+        }
+    }
+
+    /**
+     * Bottom of the cover in card coordinates, or 0 while the card shows through it.
+     */
+    int getCoveredHeight() {
+        if (!coverOpaque || cover.getVisibility() != View.VISIBLE || cover.getAlpha() < 1f)
+            return 0;
+
+        int bottom = cover.getBottom();
+        ViewParent parent = cover.getParent();
+        while (parent != holder) {
+            if (!(parent instanceof View))
+                return 0;
+
+            bottom += ((View) parent).getTop();
+            parent = parent.getParent();
+        }
+
+        return bottom;
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        Rect bounds = getBounds();
+        int covered = getCoveredHeight();
+
+        if (covered <= bounds.top) {
+            card.draw(canvas);
+        } else if (covered < bounds.bottom) {
+            int save = canvas.save();
+            canvas.clipRect(bounds.left, covered, bounds.right, bounds.bottom);
+            card.draw(canvas);
+            canvas.restoreToCount(save);
+        }
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        card.setBounds(bounds);
+    }
+
+    @Override
+    public boolean getPadding(@NonNull Rect padding) {
+        return card.getPadding(padding);
+    }
+
+    @Override
+    public void getOutline(@NonNull Outline outline) {
+        card.getOutline(outline);
+    }
+
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        card.setVisible(visible, restart);
+        return super.setVisible(visible, restart);
+    }
+
+    @Override
+    public boolean isStateful() {
+        return card.isStateful();
+    }
+
+    @Override
+    protected boolean onStateChange(int[] state) {
+        return card.setState(state);
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return card.getIntrinsicWidth();
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return card.getIntrinsicHeight();
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        card.setAlpha(alpha);
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        card.setColorFilter(colorFilter);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public int getOpacity() {
+        return card.getOpacity();
+    }
+
+    @Override
+    public void invalidateDrawable(@NonNull Drawable who) {
+        invalidateSelf();
+    }
+
+    @Override
+    public void scheduleDrawable(@NonNull Drawable who, @NonNull Runnable what, long when) {
+        scheduleSelf(what, when);
+    }
+
+    @Override
+    public void unscheduleDrawable(@NonNull Drawable who, @NonNull Runnable what) {
+        unscheduleSelf(what);
+    }
+}
@@ -6,6 +6,7 @@ import android.content.res.Resources;
 import android.graphics.Bitmap;
 import android.graphics.ColorFilter;
 import android.graphics.Shader;
+import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.LayerDrawable;
@@ -19,12 +20,15 @@ import androidx.core.content.ContextCompat;
 import androidx.appcompat.widget.AppCompatImageView;
 import android.util.AttributeSet;
 import android.util.Log;
-import android.view.ViewGroup;
 
 import com.vansuita.materialabout.R;
 
 /**
  * Created by jrvansuita on 10/02/17.
+ * <p>
+ * Drawables the view rasterizes itself give their bitmap back to the pool when the image
+ * changes. A drawable taken from {@link #getDrawable()} to be kept past that needs
+ * {@link RoundedDrawable#markShared(Drawable)} first.
  */
 
 public final class CircleImageView extends AppCompatImageView {
@@ -49,6 +53,9 @@ public final class CircleImageView extends AppCompatImageView {
     private boolean mColorMod = false;
     @Nullable
     private Drawable mDrawable;
+    // The drawable as given, kept to rasterize it again when the view size changes.
+    @Nullable
+    private Drawable mSourceDrawable;
     private boolean mHasColorFilter = false;
     private boolean mIsOval = false;
     private boolean mMutateBackground = false;
@@ -82,15 +89,6 @@ public final class CircleImageView extends AppCompatImageView {
         setOval(true);
     }
 
-    protected void onMeasure(int width, int height) {
-        super.onMeasure(width, height);
-        if (getParent() != null) {
-            ViewGroup.MarginLayoutParams lp = (ViewGroup.MarginLayoutParams) getLayoutParams();
-            lp.topMargin = getMeasuredHeight() / 2;
-            setLayoutParams(lp);
-        }
-    }
-
     @Override
     protected void drawableStateChanged() {
         super.drawableStateChanged();
@@ -130,36 +128,67 @@ public final class CircleImageView extends AppCompatImageView {
         }
     }
 
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+
+        if (isRasterized(mSourceDrawable)) {
+            setRoundedDrawable(RoundedDrawable.fromResource(getResources(), mResource, mSourceDrawable, getRasterWidth(), getRasterHeight()));
+        }
+    }
+
     @Override
     public void setImageDrawable(Drawable drawable) {
         mResource = 0;
-        mDrawable = RoundedDrawable.fromDrawable(drawable);
-        updateDrawableAttrs();
-        super.setImageDrawable(mDrawable);
+        mSourceDrawable = drawable;
+        setRoundedDrawable(RoundedDrawable.fromDrawable(drawable, getRasterWidth(), getRasterHeight()));
     }
 
     @Override
     public void setImageBitmap(Bitmap bm) {
         mResource = 0;
-        mDrawable = RoundedDrawable.fromBitmap(bm);
-        updateDrawableAttrs();
-        super.setImageDrawable(mDrawable);
+        mSourceDrawable = null;
+        setRoundedDrawable(RoundedDrawable.fromBitmap(bm));
     }
 
     @Override
     public void setImageResource(@DrawableRes int resId) {
         if (mResource != resId) {
             mResource = resId;
-            mDrawable = resolveResource();
-            updateDrawableAttrs();
-            super.setImageDrawable(mDrawable);
+            setRoundedDrawable(resolveResource());
         }
     }
 
+    private void setRoundedDrawable(@Nullable Drawable drawable) {
+        if (mDrawable != drawable) {
+            // Rasterized bitmaps nobody else got hold of go back to the pool instead of becoming garbage
+            RoundedDrawable.release(mDrawable);
+        }
+
+        mDrawable = drawable;
+        updateDrawableAttrs();
+        super.setImageDrawable(mDrawable);
+    }
+
+    private boolean isRasterized(@Nullable Drawable drawable) {
+        return drawable != null
+                && !(drawable instanceof BitmapDrawable)
+                && !(drawable instanceof RoundedDrawable)
+                && !(drawable instanceof LayerDrawable);
+    }
+
+    private int getRasterWidth() {
+        return Math.max(getWidth() - getPaddingLeft() - getPaddingRight(), 0);
+    }
+
+    private int getRasterHeight() {
+        return Math.max(getHeight() - getPaddingTop() - getPaddingBottom(), 0);
+    }
+
     @Override
     public void setImageURI(Uri uri) {
         super.setImageURI(uri);
-        setImageDrawable(getDrawable());
+        setImageDrawable(super.getDrawable());
     }
 
     private Drawable resolveResource() {
@@ -177,7 +206,9 @@ public final class CircleImageView extends AppCompatImageView {
                 mResource = 0;
             }
         }
-        return RoundedDrawable.fromDrawable(d);
+
+        mSourceDrawable = d;
+        return RoundedDrawable.fromResource(rsrc, mResource, d, getRasterWidth(), getRasterHeight());
     }
 
     @Override
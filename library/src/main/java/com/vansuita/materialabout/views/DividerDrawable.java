@@ -0,0 +1,164 @@
+package com.vansuita.materialabout.views;
+
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.DashPathEffect;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+import com.vansuita.materialabout.R;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The dashed line drawn on top of the links and the app sections. Drawables with the same
+ * color, height and dashes share one state across all the about views, and each keeps its own
+ * paint, so nothing set on one of them reaches the others.
+ * <p>
+ * The line sits where the top edge of the old stroked layer-list background was: that shape was
+ * inset by {@code R.dimen.divider_top_inset} on top and {@code R.dimen.divider_side_inset} on the
+ * sides, so the stroke starts half out of the bounds and its dashes start off the left edge.
+ */
+public final class DividerDrawable extends Drawable {
+
+    private static final LruCache<DividerState, DividerState> states = new LruCache<>(16);
+
+    private final DividerState state;
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    /**
+     * @param height stroke height, 0 draws nothing
+     * @param dashWidth length of each dash, 0 draws a solid line
+     */
+    @NonNull
+    public static DividerDrawable get(@NonNull Resources res, int color, int height, float dashWidth, float dashGap) {
+        DividerState key = new DividerState(color, height, dashWidth, dashGap,
+                res.getDimensionPixelOffset(R.dimen.divider_top_inset),
+                res.getDimensionPixelOffset(R.dimen.divider_side_inset));
+        DividerState state = states.get(key);
+
+        if (state == null) {
+            state = key;
+            states.put(key, state);
+        }
+
+        return new DividerDrawable(state);
+    }
+
+    private DividerDrawable(@NonNull DividerState state) {
+        this.state = state;
+        paint.setStyle(Paint.Style.STROKE);
+        paint.setColor(state.color);
+        paint.setStrokeWidth(state.height);
+        paint.setPathEffect(state.dash);
+    }
+
+    /**
+     * @return true if both draw the same line
+     */
+    public static boolean same(@Nullable Drawable a, @Nullable Drawable b) {
+        return a instanceof DividerDrawable && b instanceof DividerDrawable
+                && ((DividerDrawable) a).state == ((DividerDrawable) b).state;
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        if (state.height <= 0)
+            return;
+
+        // The top edge of the stroke of a rectangle outset like the old shape, cut to the bounds
+        // as the old background was cut to its view
+        Rect bounds = getBounds();
+        float half = state.height / 2f;
+        float y = bounds.top + state.topInset + half;
+
+        int saved = canvas.save();
+        canvas.clipRect(bounds);
+        canvas.drawLine(bounds.left + state.sideInset + half, y, bounds.right - state.sideInset - half, y, paint);
+        canvas.restoreToCount(saved);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        paint.setAlpha(alpha);
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        paint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Nullable
+    @Override
+    public ConstantState getConstantState() {
+        return state;
+    }
+
+    private static final class DividerState extends ConstantState {
+
+        private final int color;
+        private final int height;
+        private final float dashWidth;
+        private final float dashGap;
+        private final int topInset;
+        private final int sideInset;
+        private final DashPathEffect dash;
+
+        DividerState(int color, int height, float dashWidth, float dashGap, int topInset, int sideInset) {
+            this.color = color;
+            this.height = height;
+            this.dashWidth = dashWidth;
+            this.dashGap = dashGap;
+            this.topInset = topInset;
+            this.sideInset = sideInset;
+            this.dash = dashWidth > 0 ? new DashPathEffect(new float[]{dashWidth, dashGap}, 0) : null;
+        }
+
+        @NonNull
+        @Override
+        public Drawable newDrawable() {
+            return new DividerDrawable(this);
+        }
+
+        @Override
+        public int getChangingConfigurations() {
+            return 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+
+            if (!(o instanceof DividerState))
+                return false;
+
+            DividerState that = (DividerState) o;
+            return color == that.color && height == that.height
+                    && Float.compare(dashWidth, that.dashWidth) == 0 && Float.compare(dashGap, that.dashGap) == 0
+                    && topInset == that.topInset && sideInset == that.sideInset;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = color;
+            result = 31 * result + height;
+            result = 31 * result + Float.floatToIntBits(dashWidth);
+            result = 31 * result + Float.floatToIntBits(dashGap);
+            result = 31 * result + topInset;
+            return 31 * result + sideInset;
+        }
+    }
+}
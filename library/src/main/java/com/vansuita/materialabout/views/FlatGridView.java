@@ -0,0 +1,515 @@
+package com.vansuita.materialabout.views;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+import android.graphics.Rect;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.Bundle;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.Button;
+
+import com.vansuita.materialabout.R;
+import com.vansuita.materialabout.builder.Item;
+import com.vansuita.materialabout.builder.ItemRes;
+import com.vansuita.materialabout.util.RippleUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.core.graphics.drawable.DrawableCompat;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+
+/**
+ * Links or actions grid drawn by a single view: icons and cached {@link StaticLayout} labels,
+ * no child views. Hit testing, the ripple and accessibility work per cell, through a virtual
+ * view tree. Looks like the cells of {@link AutoFitGridLayout} inflated from
+ * {@code xab_each_link} or {@code xab_each_action}.
+ */
+@SuppressWarnings("deprecation")
+public final class FlatGridView extends View {
+
+    /**
+     * Icon above a centered label, like {@code xab_each_link}.
+     */
+    public static final int STYLE_LINK = 0;
+
+    /**
+     * Icon beside the label, like {@code xab_each_action}.
+     */
+    public static final int STYLE_ACTION = 1;
+
+    private static final int[] PRESSED_STATE = {android.R.attr.state_pressed, android.R.attr.state_enabled};
+    private static final int[] RELEASED_STATE = {android.R.attr.state_enabled};
+
+    private final TextPaint textPaint = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+    private final AccessibilityHelper accessibilityHelper;
+    private final int iconSize;
+
+    // Sizes of the inflated cells, from the same dimens as their layouts
+    private int padding;
+    private int labelPadding;
+    private int iconMargin;
+    private int labelEms;
+
+    private List<Item> items = Collections.emptyList();
+    private Drawable[] icons = new Drawable[0];
+    private StaticLayout[] labels = new StaticLayout[0];
+
+    private int style = STYLE_LINK;
+    private int columnCount = 2;
+    private int minCellWidth;
+    private int iconColor = Color.GRAY;
+
+    // Bounds of each cell, filled on measure
+    private int[] cellLeft = new int[0];
+    private int[] cellTop = new int[0];
+    private int[] cellRight = new int[0];
+    private int[] cellBottom = new int[0];
+    private int[] rowHeights = new int[0];
+    private int[] cellRows = new int[0];
+
+    private Drawable ripple;
+    private int pressedCell = -1;
+
+    // Cell the ripple is drawn over, kept after the release until its exit animation is done
+    private int rippleCell = -1;
+    private boolean rippleInvalidated;
+
+    public FlatGridView(@NonNull Context context) {
+        this(context, null);
+    }
+
+    public FlatGridView(@NonNull Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public FlatGridView(@NonNull Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+
+        iconSize = getResources().getDimensionPixelSize(R.dimen.icon_size);
+
+        TypedArray a = context.obtainStyledAttributes(new int[]{android.R.attr.textColorSecondary});
+        textPaint.setColor(a.getColor(0, Color.GRAY));
+        a.recycle();
+
+        accessibilityHelper = new AccessibilityHelper(this);
+        ViewCompat.setAccessibilityDelegate(this, accessibilityHelper);
+        setFocusable(true);
+        setStyle(STYLE_LINK);
+    }
+
+    public void setStyle(int style) {
+        Resources res = getResources();
+        boolean link = style == STYLE_LINK;
+
+        this.style = style;
+        padding = res.getDimensionPixelSize(link ? R.dimen.link_padding : R.dimen.action_padding);
+        labelPadding = link ? res.getDimensionPixelSize(R.dimen.link_label_padding) : 0;
+        iconMargin = link ? 0 : res.getDimensionPixelSize(R.dimen.action_icon_margin);
+        labelEms = link ? 0 : res.getInteger(R.integer.action_label_ems);
+        textPaint.setTextSize(res.getDimension(link ? R.dimen.link_label_size : R.dimen.action_label_size));
+        labels = new StaticLayout[items.size()];
+        requestLayout();
+    }
+
+    public void setItems(@NonNull List<Item> items) {
+        // A copy, the builder lists can change before the grid hears about it
+        this.items = new ArrayList<>(items);
+
+        icons = new Drawable[items.size()];
+        labels = new StaticLayout[items.size()];
+        rippleCell = -1;
+
+        for (int i = 0; i < items.size(); i++) {
+            icons[i] = loadIcon(items.get(i));
+        }
+
+        applyIconColor();
+        accessibilityHelper.invalidateRoot();
+        requestLayout();
+        invalidate();
+    }
+
+    @Nullable
+    private Drawable loadIcon(@NonNull Item item) {
+        Drawable icon;
+
+        if (item instanceof ItemRes)
+            icon = ContextCompat.getDrawable(getContext(), ((ItemRes) item).getIconRes());
+        else if (item.getIcon() != null)
+            icon = new BitmapDrawable(getResources(), item.getIcon());
+        else
+            return null;
+
+        return icon == null ? null : icon.mutate();
+    }
+
+    public void setColumnCount(int columnCount) {
+        this.columnCount = Math.max(1, columnCount);
+        requestLayout();
+    }
+
+    /**
+     * Same as {@link AutoFitGridLayout#setMinCellWidth(int)}.
+     */
+    public void setMinCellWidth(int minCellWidth) {
+        this.minCellWidth = minCellWidth;
+        requestLayout();
+    }
+
+    public void setIconColor(int iconColor) {
+        this.iconColor = iconColor;
+        applyIconColor();
+        invalidate();
+    }
+
+    private void applyIconColor() {
+        PorterDuffColorFilter filter = new PorterDuffColorFilter(iconColor, PorterDuff.Mode.SRC_IN);
+        for (Drawable icon : icons) {
+            if (icon != null)
+                icon.setColorFilter(filter);
+        }
+    }
+
+    public void setLabelColor(int color) {
+        if (textPaint.getColor() == color)
+            return;
+
+        // The label layouts draw with this paint, no need to build them again
+        textPaint.setColor(color);
+        invalidate();
+    }
+
+    /**
+     * Color the pressed cell ripple is derived from, usually the card color.
+     */
+    public void setRippleColor(int color) {
+        setRippleColor(color, false);
+    }
+
+    /**
+     * @param masked true to draw only the pressed feedback, with nothing at rest
+     */
+    public void setRippleColor(int color, boolean masked) {
+        if (ripple != null)
+            ripple.setCallback(null);
+
+        ripple = masked ? RippleUtil.getMaskedRippleDrawable(color) : RippleUtil.getAdaptiveRippleDrawable(color);
+        ripple.setCallback(this);
+        ripple.setState(RELEASED_STATE);
+    }
+
+    /**
+     * Lays the label out for the whole width of its cell, spanned columns included. Only done
+     * again when that room changes.
+     */
+    private void updateLabel(int index, int cellWidth) {
+        int width;
+        if (style == STYLE_LINK) {
+            width = cellWidth - 2 * padding - 2 * labelPadding;
+        } else {
+            // The ems of the action label
+            int ems = (int) (labelEms * (textPaint.getFontSpacing() + 0.5f));
+            width = Math.min(ems, cellWidth - 2 * padding - iconSize - iconMargin);
+        }
+        width = Math.max(width, 1);
+
+        if (labels[index] != null && labels[index].getWidth() == width)
+            return;
+
+        Layout.Alignment alignment = style == STYLE_LINK ? Layout.Alignment.ALIGN_CENTER : Layout.Alignment.ALIGN_NORMAL;
+        CharSequence label = items.get(index).getLabel() == null ? "" : items.get(index).getLabel();
+        labels[index] = new StaticLayout(label, textPaint, width, alignment, 1f, 0f, false);
+    }
+
+    private int cellHeight(int index) {
+        int labelHeight = labels[index].getHeight();
+
+        if (style == STYLE_LINK)
+            return 2 * padding + iconSize + 2 * labelPadding + labelHeight;
+
+        return 2 * padding + Math.max(iconSize, labelHeight);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int available = Math.max(width - getPaddingLeft() - getPaddingRight(), 0);
+        int columns = minCellWidth > 0 ? Math.max(1, available / minCellWidth) : columnCount;
+        int cellWidth = available / columns;
+        int count = items.size();
+
+        if (cellLeft.length < count) {
+            cellLeft = new int[count];
+            cellTop = new int[count];
+            cellRight = new int[count];
+            cellBottom = new int[count];
+            cellRows = new int[count];
+        }
+        if (rowHeights.length < count) {
+            rowHeights = new int[count];
+        }
+
+        // Flow the cells, spans included, then size each row after its tallest cell
+        int row = 0;
+        int column = 0;
+        for (int i = 0; i < count; i++) {
+            int span = Math.max(1, Math.min(items.get(i).getSpan(), columns));
+            if (column + span > columns) {
+                row++;
+                column = 0;
+            }
+            cellLeft[i] = getPaddingLeft() + column * cellWidth;
+            cellRight[i] = cellLeft[i] + span * cellWidth;
+            cellRows[i] = row;
+            column += span;
+            updateLabel(i, cellRight[i] - cellLeft[i]);
+        }
+
+        int rows = count == 0 ? 0 : row + 1;
+        for (int i = 0; i < rows; i++) {
+            rowHeights[i] = 0;
+        }
+        for (int i = 0; i < count; i++) {
+            rowHeights[cellRows[i]] = Math.max(rowHeights[cellRows[i]], cellHeight(i));
+        }
+
+        int top = getPaddingTop();
+        for (int r = 0, i = 0; r < rows; r++) {
+            for (; i < count && cellRows[i] == r; i++) {
+                cellTop[i] = top;
+                cellBottom[i] = top + rowHeights[r];
+            }
+            top += rowHeights[r];
+        }
+
+        setMeasuredDimension(getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec),
+                resolveSize(top + getPaddingBottom(), heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+
+        if (ripple != null && rippleCell >= 0) {
+            ripple.draw(canvas);
+
+            // Released and no longer animating, this was its last frame
+            if (pressedCell < 0 && !rippleInvalidated)
+                rippleCell = -1;
+
+            rippleInvalidated = false;
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            int cellWidth = cellRight[i] - cellLeft[i];
+            int labelWidth = labels[i].getWidth();
+            int iconLeft;
+            int iconTop = cellTop[i] + padding;
+            int labelLeft;
+            int labelTop;
+
+            if (style == STYLE_LINK) {
+                iconLeft = cellLeft[i] + (cellWidth - iconSize) / 2;
+                labelLeft = cellLeft[i] + (cellWidth - labelWidth) / 2;
+                labelTop = iconTop + iconSize + labelPadding;
+            } else {
+                int groupWidth = iconSize + iconMargin + labelWidth;
+                iconLeft = cellLeft[i] + Math.max((cellWidth - groupWidth) / 2, padding);
+                labelLeft = iconLeft + iconSize + iconMargin;
+                labelTop = iconTop;
+            }
+
+            Drawable icon = icons[i];
+            if (icon != null) {
+                icon.setBounds(iconLeft, iconTop, iconLeft + iconSize, iconTop + iconSize);
+                icon.draw(canvas);
+            }
+
+            canvas.save();
+            canvas.translate(labelLeft, labelTop);
+            labels[i].draw(canvas);
+            canvas.restore();
+        }
+    }
+
+    private int cellAt(float x, float y) {
+        for (int i = 0; i < items.size(); i++) {
+            if (x >= cellLeft[i] && x < cellRight[i] && y >= cellTop[i] && y < cellBottom[i])
+                return i;
+        }
+        return -1;
+    }
+
+    private void setPressedCell(int index, float x, float y) {
+        pressedCell = index;
+
+        if (ripple == null)
+            return;
+
+        if (index >= 0) {
+            rippleCell = index;
+            ripple.setBounds(cellLeft[index], cellTop[index], cellRight[index], cellBottom[index]);
+            DrawableCompat.setHotspot(ripple, x, y);
+            ripple.setState(PRESSED_STATE);
+        } else {
+            ripple.setState(RELEASED_STATE);
+        }
+        invalidate();
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                int index = cellAt(event.getX(), event.getY());
+                setPressedCell(index, event.getX(), event.getY());
+                return index >= 0;
+            case MotionEvent.ACTION_MOVE:
+                if (pressedCell >= 0 && cellAt(event.getX(), event.getY()) != pressedCell)
+                    setPressedCell(-1, 0, 0);
+                return true;
+            case MotionEvent.ACTION_UP:
+                if (pressedCell >= 0 && cellAt(event.getX(), event.getY()) == pressedCell)
+                    performClick();
+                setPressedCell(-1, 0, 0);
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                setPressedCell(-1, 0, 0);
+                return true;
+        }
+        return super.onTouchEvent(event);
+    }
+
+    /**
+     * Clicks the pressed cell, or the focused one when the grid itself is clicked, e.g. by an
+     * accessibility service.
+     */
+    @Override
+    public boolean performClick() {
+        boolean handled = super.performClick();
+
+        int index = pressedCell;
+        if (index < 0)
+            index = accessibilityHelper.getAccessibilityFocusedVirtualViewId();
+        if (index < 0)
+            index = accessibilityHelper.getKeyboardFocusedVirtualViewId();
+
+        return performItemClick(index) || handled;
+    }
+
+    private boolean performItemClick(int index) {
+        if (index < 0 || index >= items.size() || items.get(index).getOnClick() == null)
+            return false;
+
+        playSoundEffect(SoundEffectConstants.CLICK);
+        items.get(index).getOnClick().onClick(this);
+        accessibilityHelper.sendEventForVirtualView(index, AccessibilityEvent.TYPE_VIEW_CLICKED);
+        return true;
+    }
+
+    @Override
+    public void invalidateDrawable(@NonNull Drawable drawable) {
+        if (drawable == ripple)
+            rippleInvalidated = true;
+
+        super.invalidateDrawable(drawable);
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull Drawable who) {
+        return who == ripple || super.verifyDrawable(who);
+    }
+
+    @Override
+    public void jumpDrawablesToCurrentState() {
+        super.jumpDrawablesToCurrentState();
+        if (ripple != null)
+            ripple.jumpToCurrentState();
+    }
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return accessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return accessibilityHelper.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, @Nullable Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        accessibilityHelper.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    /**
+     * Each cell is a virtual view, so talkback reads and clicks them one by one.
+     */
+    private final class AccessibilityHelper extends ExploreByTouchHelper {
+
+        private final Rect bounds = new Rect();
+
+        AccessibilityHelper(@NonNull View host) {
+            super(host);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            int index = cellAt(x, y);
+            return index >= 0 ? index : INVALID_ID;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            for (int i = 0; i < items.size(); i++) {
+                virtualViewIds.add(i);
+            }
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, @NonNull AccessibilityNodeInfoCompat node) {
+            if (virtualViewId >= items.size() || virtualViewId >= cellLeft.length) {
+                node.setContentDescription("");
+                node.setBoundsInParent(bounds);
+                return;
+            }
+
+            String label = items.get(virtualViewId).getLabel();
+            node.setContentDescription(TextUtils.isEmpty(label) ? "" : label);
+            node.setClassName(Button.class.getName());
+            node.setClickable(true);
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+
+            bounds.set(cellLeft[virtualViewId], cellTop[virtualViewId], cellRight[virtualViewId], cellBottom[virtualViewId]);
+            node.setBoundsInParent(bounds);
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, @Nullable Bundle arguments) {
+            return action == AccessibilityNodeInfoCompat.ACTION_CLICK && performItemClick(virtualViewId);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.vansuita.materialabout.views;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.vansuita.materialabout.builder.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Adapter over the links or actions of an {@link com.vansuita.materialabout.builder.AboutBuilder},
+ * binding the cells the same way {@link AboutView} does when it inflates all of them.
+ */
+final class ItemAdapter extends RecyclerView.Adapter<ItemAdapter.Holder> {
+
+    private final AboutView aboutView;
+    private final int layout;
+    private List<Item> items;
+    private ItemSnapshot[] snapshots;
+
+    ItemAdapter(@NonNull AboutView aboutView, @NonNull List<Item> items, int layout) {
+        this.aboutView = aboutView;
+        this.items = new ArrayList<>(items);
+        this.layout = layout;
+        this.snapshots = ItemSnapshot.of(items);
+    }
+
+    /**
+     * Swaps the items, notifying only the cells that were added, removed, moved or changed.
+     */
+    void setItems(@NonNull List<Item> items) {
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(ItemSnapshot.diff(snapshots, items));
+        this.items = new ArrayList<>(items);
+        this.snapshots = ItemSnapshot.of(items);
+        result.dispatchUpdatesTo(this);
+    }
+
+    /**
+     * Spans come from the items, capped to the columns of the grid.
+     */
+    @NonNull
+    GridLayoutManager.SpanSizeLookup spanSizeLookup(@NonNull final GridLayoutManager manager) {
+        GridLayoutManager.SpanSizeLookup lookup = new GridLayoutManager.SpanSizeLookup() {
+            @Override
+            public int getSpanSize(int position) {
+                return Math.min(items.get(position).getSpan(), manager.getSpanCount());
+            }
+        };
+        lookup.setSpanIndexCacheEnabled(true);
+        return lookup;
+    }
+
+    @NonNull
+    @Override
+    public Holder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(layout, parent, false);
+
+        // The grid stretches every cell to its column, do the same here
+        view.getLayoutParams().width = ViewGroup.LayoutParams.MATCH_PARENT;
+        aboutView.prepareItem(view);
+
+        Holder holder = new Holder(view);
+        holder.rippleColor = aboutView.getRippleColor();
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull Holder holder, int position) {
+        // The card was themed again since this cell was created
+        if (holder.rippleColor != aboutView.getRippleColor()) {
+            aboutView.prepareItem(holder.itemView);
+            holder.rippleColor = aboutView.getRippleColor();
+        }
+
+        aboutView.bindItem(holder.itemView, items.get(position));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull Holder holder, int position, @NonNull List<Object> payloads) {
+        // Same look under another item, only the id and the click move over
+        if (!payloads.isEmpty() && holder.rippleColor == aboutView.getRippleColor()) {
+            aboutView.adoptItem(holder.itemView, items.get(position));
+            return;
+        }
+
+        onBindViewHolder(holder, position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return items.size();
+    }
+
+    static final class Holder extends RecyclerView.ViewHolder {
+
+        // Card color the cell ripple was made for
+        private int rippleColor;
+
+        Holder(@NonNull View itemView) {
+            super(itemView);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.vansuita.materialabout.views;
+
+import android.content.Context;
+import android.util.AttributeSet;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Grid of recycled item cells, used instead of {@link AutoFitGridLayout} for sections with a
+ * lot of items. The grid holding it measures it at any height, so the about view gives it a
+ * height cap when it has a bounded height itself: only the cells within the cap are inflated
+ * and the grid scrolls the rest. Without a cap, inside a scrolling parent, every cell is laid
+ * out and the parent does the scrolling, so there is never a scroll box inside another one.
+ */
+public final class ItemRecyclerView extends RecyclerView {
+
+    private final GridLayoutManager layoutManager;
+
+    // 0 lays out every cell
+    private int maxHeight;
+
+    private int minCellWidth;
+
+    // Content width the span count was last derived from, in min cell width mode
+    private int adaptiveWidth = -1;
+
+    public ItemRecyclerView(@NonNull Context context) {
+        this(context, null);
+    }
+
+    public ItemRecyclerView(@NonNull Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public ItemRecyclerView(@NonNull Context context, @Nullable AttributeSet attrs, int defStyle) {
+        super(context, attrs, defStyle);
+        layoutManager = new GridLayoutManager(context, 1);
+        setLayoutManager(layoutManager);
+        setOverScrollMode(OVER_SCROLL_IF_CONTENT_SCROLLS);
+        setNestedScrollingEnabled(false);
+    }
+
+    void setItemAdapter(@NonNull ItemAdapter adapter) {
+        layoutManager.setSpanSizeLookup(adapter.spanSizeLookup(layoutManager));
+        setAdapter(adapter);
+    }
+
+    public void setColumnCount(int columnCount) {
+        if (minCellWidth <= 0 && columnCount > 0)
+            layoutManager.setSpanCount(columnCount);
+    }
+
+    public int getColumnCount() {
+        return layoutManager.getSpanCount();
+    }
+
+    /**
+     * Same as {@link AutoFitGridLayout#setMinCellWidth(int)}.
+     */
+    public void setMinCellWidth(int minCellWidth) {
+        this.minCellWidth = minCellWidth;
+        adaptiveWidth = -1;
+        requestLayout();
+    }
+
+    int getMaxHeight() {
+        return maxHeight;
+    }
+
+    /**
+     * @param maxHeight height the grid scrolls its cells within, 0 to lay out all of them
+     */
+    void setMaxHeight(int maxHeight) {
+        if (this.maxHeight == maxHeight)
+            return;
+
+        this.maxHeight = maxHeight;
+        requestLayout();
+    }
+
+    /**
+     * @return true if the cap leaves cells out, the grid then scrolls
+     */
+    boolean isCapped() {
+        return maxHeight > 0 && getMeasuredHeight() >= maxHeight;
+    }
+
+    @Override
+    protected void onMeasure(int widthSpec, int heightSpec) {
+        int available = MeasureSpec.getSize(widthSpec) - getPaddingLeft() - getPaddingRight();
+        if (minCellWidth > 0 && available != adaptiveWidth) {
+            layoutManager.setSpanCount(Math.max(1, available / minCellWidth));
+            adaptiveWidth = available;
+        }
+
+        super.onMeasure(widthSpec, maxHeight > 0 ? MeasureSpec.makeMeasureSpec(maxHeight, MeasureSpec.AT_MOST) : heightSpec);
+    }
+}
@@ -0,0 +1,108 @@
+package com.vansuita.materialabout.views;
+
+import android.graphics.Bitmap;
+import android.text.TextUtils;
+import android.view.View;
+
+import com.vansuita.materialabout.builder.Item;
+import com.vansuita.materialabout.builder.ItemRes;
+import com.vansuita.materialabout.util.BitmapUtil;
+
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+/**
+ * What a cell showed when it was bound, so an update can tell whether its item changed since,
+ * even when the same item instance was edited in place.
+ */
+final class ItemSnapshot {
+
+    /**
+     * Change payload of a cell whose new item looks the same, only its id or click changed.
+     */
+    static final Object SAME_LOOK = new Object();
+
+    private final int id;
+    private final String key;
+    private final String label;
+    private final Bitmap icon;
+    private final int iconRes;
+    private final View.OnClickListener onClick;
+    private final int span;
+
+    ItemSnapshot(@NonNull Item item) {
+        id = item.getId();
+        key = item.getKey();
+        label = item.getLabel();
+        icon = item.getIcon();
+        iconRes = item instanceof ItemRes ? ((ItemRes) item).getIconRes() : 0;
+        onClick = item.getOnClick();
+        span = item.getSpan();
+    }
+
+    @NonNull
+    static ItemSnapshot[] of(@NonNull List<Item> items) {
+        ItemSnapshot[] snapshots = new ItemSnapshot[items.size()];
+        for (int i = 0; i < snapshots.length; i++) {
+            snapshots[i] = new ItemSnapshot(items.get(i));
+        }
+        return snapshots;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * @return true if the item shows the same, it can still be another one with its own id and click
+     */
+    boolean looksLike(@NonNull Item item) {
+        return TextUtils.equals(label, item.getLabel())
+                && iconRes == (item instanceof ItemRes ? ((ItemRes) item).getIconRes() : 0)
+                && span == item.getSpan()
+                && BitmapUtil.same(icon, item.getIcon());
+    }
+
+    /**
+     * @return true if the item would be bound exactly the same way
+     */
+    boolean matches(@NonNull Item item) {
+        return id == item.getId() && onClick == item.getOnClick() && looksLike(item);
+    }
+
+    /**
+     * Compares the items as they were bound with the new ones, matching them by key, so the
+     * items of a new builder find the cells of the ones they replace.
+     */
+    @NonNull
+    static DiffUtil.Callback diff(@NonNull final ItemSnapshot[] bound, @NonNull final List<Item> items) {
+        return new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return bound.length;
+            }
+
+            @Override
+            public int getNewListSize() {
+                return items.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return TextUtils.equals(bound[oldItemPosition].getKey(), items.get(newItemPosition).getKey());
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return bound[oldItemPosition].matches(items.get(newItemPosition));
+            }
+
+            @Override
+            public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+                return bound[oldItemPosition].looksLike(items.get(newItemPosition)) ? SAME_LOOK : null;
+            }
+        };
+    }
+}
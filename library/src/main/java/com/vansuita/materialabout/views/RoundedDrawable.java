@@ -17,6 +17,8 @@
 package com.vansuita.materialabout.views;
 
 import android.content.res.ColorStateList;
+import android.content.res.Configuration;
+import android.content.res.Resources;
 import android.graphics.Bitmap;
 import android.graphics.Bitmap.Config;
 import android.graphics.BitmapShader;
@@ -25,6 +27,7 @@ import android.graphics.Color;
 import android.graphics.ColorFilter;
 import android.graphics.Matrix;
 import android.graphics.Paint;
+import android.graphics.Path;
 import android.graphics.PixelFormat;
 import android.graphics.Rect;
 import android.graphics.RectF;
@@ -33,11 +36,15 @@ import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.LayerDrawable;
 import androidx.annotation.ColorInt;
+import androidx.annotation.DrawableRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import android.util.Log;
+import android.util.LruCache;
 import android.widget.ImageView.ScaleType;
 
+import com.vansuita.materialabout.util.BitmapPool;
+
 import java.util.HashSet;
 import java.util.Set;
 
@@ -47,6 +54,17 @@ public final class RoundedDrawable extends Drawable {
     private static final String TAG = "RoundedDrawable";
     public static final int DEFAULT_BORDER_COLOR = Color.BLACK;
 
+    private static final int RASTER_CACHE_SIZE = 2 * 1024 * 1024;
+
+    // Rasterized drawable resources, keyed by resource id, configuration and target size.
+    private static final LruCache<RasterKey, Bitmap> sRasterCache = new LruCache<RasterKey, Bitmap>(RASTER_CACHE_SIZE) {
+        @Override
+        protected int sizeOf(RasterKey key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+    private static final Canvas sRasterCanvas = new Canvas();
+
     private final RectF mBounds = new RectF();
     private final RectF mDrawableRect = new RectF();
     private final RectF mBitmapRect = new RectF();
@@ -60,11 +78,18 @@ public final class RoundedDrawable extends Drawable {
     @NonNull
     private final Paint mBorderPaint;
     private final Matrix mShaderMatrix = new Matrix();
-    private final RectF mSquareCornersRect = new RectF();
+    // [ topLeft x/y, topRight x/y, bottomRight x/y, bottomLeft x/y ]
+    private final float[] mPathRadii = new float[8];
+    private final Path mPath = new Path();
 
     private Shader.TileMode mTileModeX = Shader.TileMode.CLAMP;
     private Shader.TileMode mTileModeY = Shader.TileMode.CLAMP;
+    @Nullable
+    private BitmapShader mBitmapShader;
     private boolean mRebuildShader = true;
+    // Bounds, radii, border or scale type changed since the last draw.
+    private boolean mRebuildGeometry = true;
+    private boolean mRoundedPath = false;
 
     // [ topLeft, topRight, bottomLeft, bottomRight ]
     private float mCornerRadius = 0f;
@@ -76,6 +101,8 @@ public final class RoundedDrawable extends Drawable {
     private ColorStateList mBorderColor = ColorStateList.valueOf(DEFAULT_BORDER_COLOR);
     @Nullable
     private ScaleType mScaleType = ScaleType.FIT_CENTER;
+    // The bitmap came from the pool and nobody else shares it.
+    private boolean mPooledBitmap = false;
 
     public RoundedDrawable(Bitmap bitmap) {
         mBitmap = bitmap;
@@ -106,6 +133,15 @@ public final class RoundedDrawable extends Drawable {
 
     @Nullable
     public static Drawable fromDrawable(@Nullable Drawable drawable) {
+        return fromDrawable(drawable, 0, 0);
+    }
+
+    /**
+     * Same as {@link #fromDrawable(Drawable)}, but rasterizes non-bitmap drawables at the given size.
+     * A size of 0 falls back to the intrinsic size of the drawable.
+     */
+    @Nullable
+    public static Drawable fromDrawable(@Nullable Drawable drawable, int width, int height) {
         if (drawable != null) {
             if (drawable instanceof RoundedDrawable) {
                 // just return if it's already a RoundedDrawable
@@ -117,41 +153,144 @@ public final class RoundedDrawable extends Drawable {
                 // loop through layers to and change to RoundedDrawables if possible
                 for (int i = 0; i < num; i++) {
                     Drawable d = ld.getDrawable(i);
-                    ld.setDrawableByLayerId(ld.getId(i), fromDrawable(d));
+                    ld.setDrawableByLayerId(ld.getId(i), fromDrawable(d, width, height));
                 }
                 return ld;
             }
 
             // try to get a bitmap from the drawable and
-            Bitmap bm = drawableToBitmap(drawable);
+            Bitmap bm = drawableToBitmap(drawable, width, height);
             if (bm != null) {
-                return new RoundedDrawable(bm);
+                RoundedDrawable rd = new RoundedDrawable(bm);
+                rd.mPooledBitmap = !(drawable instanceof BitmapDrawable);
+                return rd;
             }
         }
         return drawable;
     }
 
+    /**
+     * Same as {@link #fromDrawable(Drawable, int, int)} for a drawable just loaded from the given
+     * resource and not changed since. Its bitmap is cached, so every view showing the resource
+     * at the same size shares it.
+     */
+    @Nullable
+    public static Drawable fromResource(@NonNull Resources resources, @DrawableRes int resId,
+                                        @Nullable Drawable drawable, int width, int height) {
+        if (resId == 0 || drawable == null || drawable instanceof BitmapDrawable || drawable instanceof LayerDrawable)
+            return fromDrawable(drawable, width, height);
+
+        if (width <= 0 || height <= 0) {
+            width = Math.max(drawable.getIntrinsicWidth(), 2);
+            height = Math.max(drawable.getIntrinsicHeight(), 2);
+        }
+
+        RasterKey key = new RasterKey(resId, resources.getConfiguration(), width, height);
+        Bitmap bitmap = sRasterCache.get(key);
+
+        if (bitmap == null || bitmap.isRecycled()) {
+            bitmap = rasterizeFitted(drawable, width, height);
+            if (bitmap == null)
+                return drawable;
+
+            sRasterCache.put(key, bitmap);
+        }
+
+        return new RoundedDrawable(bitmap);
+    }
+
     @Nullable
     public static Bitmap drawableToBitmap(Drawable drawable) {
+        return drawableToBitmap(drawable, 0, 0);
+    }
+
+    /**
+     * Rasterizes the drawable into a pooled bitmap. Nothing is cached, since the drawable may
+     * have been tinted, mutated or changed its state or level since it was loaded.
+     */
+    @Nullable
+    public static Bitmap drawableToBitmap(Drawable drawable, int width, int height) {
         if (drawable instanceof BitmapDrawable) {
             return ((BitmapDrawable) drawable).getBitmap();
         }
 
-        Bitmap bitmap;
-        int width = Math.max(drawable.getIntrinsicWidth(), 2);
-        int height = Math.max(drawable.getIntrinsicHeight(), 2);
+        if (width <= 0 || height <= 0) {
+            width = Math.max(drawable.getIntrinsicWidth(), 2);
+            height = Math.max(drawable.getIntrinsicHeight(), 2);
+        }
+
+        return rasterizeFitted(drawable, width, height);
+    }
+
+    /**
+     * Rasterizes the drawable at the largest size of its own aspect ratio that fits in the given
+     * one, so the scale type places it instead of it being stretched. Drawables without an
+     * intrinsic size fill the given size.
+     */
+    @Nullable
+    private static Bitmap rasterizeFitted(@NonNull Drawable drawable, int width, int height) {
+        int intrinsicWidth = drawable.getIntrinsicWidth();
+        int intrinsicHeight = drawable.getIntrinsicHeight();
+
+        if (intrinsicWidth > 0 && intrinsicHeight > 0) {
+            float scale = Math.min(width / (float) intrinsicWidth, height / (float) intrinsicHeight);
+            width = Math.max(Math.round(intrinsicWidth * scale), 1);
+            height = Math.max(Math.round(intrinsicHeight * scale), 1);
+        }
+
+        return rasterize(drawable, width, height);
+    }
+
+    @Nullable
+    private static Bitmap rasterize(@NonNull Drawable drawable, int width, int height) {
         try {
-            bitmap = Bitmap.createBitmap(width, height, Config.ARGB_8888);
-            Canvas canvas = new Canvas(bitmap);
-            drawable.setBounds(0, 0, canvas.getWidth(), canvas.getHeight());
-            drawable.draw(canvas);
+            Bitmap bitmap = BitmapPool.get(width, height);
+            synchronized (sRasterCanvas) {
+                sRasterCanvas.setBitmap(bitmap);
+                drawable.setBounds(0, 0, width, height);
+                drawable.draw(sRasterCanvas);
+                sRasterCanvas.setBitmap(null);
+            }
+            return bitmap;
         } catch (Exception e) {
             e.printStackTrace();
             Log.w(TAG, "Failed to create bitmap from drawable!");
-            bitmap = null;
+            return null;
+        }
+    }
+
+    /**
+     * Gives the pooled bitmaps of drawables created by {@link #fromDrawable(Drawable, int, int)}
+     * back to the pool. Bitmaps shared through the raster cache are left alone.
+     */
+    public static void release(@Nullable Drawable drawable) {
+        if (drawable instanceof RoundedDrawable) {
+            RoundedDrawable rd = (RoundedDrawable) drawable;
+            if (rd.mPooledBitmap) {
+                rd.mPooledBitmap = false;
+                BitmapPool.put(rd.mBitmap);
+            }
+        } else if (drawable instanceof LayerDrawable) {
+            LayerDrawable ld = (LayerDrawable) drawable;
+            for (int i = 0, layers = ld.getNumberOfLayers(); i < layers; i++) {
+                release(ld.getDrawable(i));
+            }
         }
+    }
 
-        return bitmap;
+    /**
+     * Keeps the bitmap of the drawable out of the pool for good. To be called on a drawable taken
+     * from a view that rasterized it, before holding on to it past the next image change.
+     */
+    public static void markShared(@Nullable Drawable drawable) {
+        if (drawable instanceof RoundedDrawable) {
+            ((RoundedDrawable) drawable).mPooledBitmap = false;
+        } else if (drawable instanceof LayerDrawable) {
+            LayerDrawable ld = (LayerDrawable) drawable;
+            for (int i = 0, layers = ld.getNumberOfLayers(); i < layers; i++) {
+                markShared(ld.getDrawable(i));
+            }
+        }
     }
 
     @NonNull
@@ -270,129 +409,74 @@ public final class RoundedDrawable extends Drawable {
         mDrawableRect.set(mBorderRect);
     }
 
+    /**
+     * Recomputes everything draw() depends on. Only runs when the geometry was flagged dirty,
+     * so a regular frame is a single drawPath (or drawOval/drawRect) call.
+     */
+    private void rebuildGeometry() {
+        updateShaderMatrix();
+
+        if (mBitmapShader != null) {
+            boolean clamp = mTileModeX == Shader.TileMode.CLAMP && mTileModeY == Shader.TileMode.CLAMP;
+            mBitmapShader.setLocalMatrix(clamp ? mShaderMatrix : null);
+        }
+
+        mRoundedPath = false;
+        for (int corner = Corner.TOP_LEFT; corner <= Corner.BOTTOM_LEFT; corner++) {
+            float radius = getCornerRadius(corner);
+            mPathRadii[corner * 2] = radius;
+            mPathRadii[corner * 2 + 1] = radius;
+            mRoundedPath |= radius > 0;
+        }
+
+        mPath.reset();
+        if (mRoundedPath) {
+            mPath.addRoundRect(mDrawableRect, mPathRadii, Path.Direction.CW);
+        }
+    }
+
     @Override
     protected void onBoundsChange(@NonNull Rect bounds) {
         super.onBoundsChange(bounds);
 
         mBounds.set(bounds);
 
-        updateShaderMatrix();
+        mRebuildGeometry = true;
     }
 
     @Override
     public void draw(@NonNull Canvas canvas) {
         if (mRebuildShader) {
-            BitmapShader bitmapShader = new BitmapShader(mBitmap, mTileModeX, mTileModeY);
-            if (mTileModeX == Shader.TileMode.CLAMP && mTileModeY == Shader.TileMode.CLAMP) {
-                bitmapShader.setLocalMatrix(mShaderMatrix);
-            }
-            mBitmapPaint.setShader(bitmapShader);
+            mBitmapShader = new BitmapShader(mBitmap, mTileModeX, mTileModeY);
+            mBitmapPaint.setShader(mBitmapShader);
             mRebuildShader = false;
+            mRebuildGeometry = true;
+        }
+
+        if (mRebuildGeometry) {
+            rebuildGeometry();
+            mRebuildGeometry = false;
         }
 
         if (mOval) {
+            canvas.drawOval(mDrawableRect, mBitmapPaint);
             if (mBorderWidth > 0) {
-                canvas.drawOval(mDrawableRect, mBitmapPaint);
                 canvas.drawOval(mBorderRect, mBorderPaint);
-            } else {
-                canvas.drawOval(mDrawableRect, mBitmapPaint);
+            }
+        } else if (mRoundedPath) {
+            // The per-corner radii are baked into the path, so square corners need no extra passes
+            canvas.drawPath(mPath, mBitmapPaint);
+            if (mBorderWidth > 0) {
+                canvas.drawPath(mPath, mBorderPaint);
             }
         } else {
-            if (any(mCornersRounded)) {
-                float radius = mCornerRadius;
-                if (mBorderWidth > 0) {
-                    canvas.drawRoundRect(mDrawableRect, radius, radius, mBitmapPaint);
-                    canvas.drawRoundRect(mBorderRect, radius, radius, mBorderPaint);
-                    redrawBitmapForSquareCorners(canvas);
-                    redrawBorderForSquareCorners(canvas);
-                } else {
-                    canvas.drawRoundRect(mDrawableRect, radius, radius, mBitmapPaint);
-                    redrawBitmapForSquareCorners(canvas);
-                }
-            } else {
-                canvas.drawRect(mDrawableRect, mBitmapPaint);
-                if (mBorderWidth > 0) {
-                    canvas.drawRect(mBorderRect, mBorderPaint);
-                }
+            canvas.drawRect(mDrawableRect, mBitmapPaint);
+            if (mBorderWidth > 0) {
+                canvas.drawRect(mBorderRect, mBorderPaint);
             }
         }
     }
 
-    private void redrawBitmapForSquareCorners(@NonNull Canvas canvas) {
-        if (all(mCornersRounded)) {
-            // no square corners
-            return;
-        }
-
-        if (mCornerRadius == 0) {
-            return; // no round corners
-        }
-
-        float left = mDrawableRect.left;
-        float top = mDrawableRect.top;
-        float right = left + mDrawableRect.width();
-        float bottom = top + mDrawableRect.height();
-        float radius = mCornerRadius;
-
-        if (!mCornersRounded[Corner.TOP_LEFT]) {
-            mSquareCornersRect.set(left, top, left + radius, top + radius);
-            canvas.drawRect(mSquareCornersRect, mBitmapPaint);
-        }
-
-        if (!mCornersRounded[Corner.TOP_RIGHT]) {
-            mSquareCornersRect.set(right - radius, top, right, radius);
-            canvas.drawRect(mSquareCornersRect, mBitmapPaint);
-        }
-
-        if (!mCornersRounded[Corner.BOTTOM_RIGHT]) {
-            mSquareCornersRect.set(right - radius, bottom - radius, right, bottom);
-            canvas.drawRect(mSquareCornersRect, mBitmapPaint);
-        }
-
-        if (!mCornersRounded[Corner.BOTTOM_LEFT]) {
-            mSquareCornersRect.set(left, bottom - radius, left + radius, bottom);
-            canvas.drawRect(mSquareCornersRect, mBitmapPaint);
-        }
-    }
-
-    private void redrawBorderForSquareCorners(@NonNull Canvas canvas) {
-        if (all(mCornersRounded)) {
-            // no square corners
-            return;
-        }
-
-        if (mCornerRadius == 0) {
-            return; // no round corners
-        }
-
-        float left = mDrawableRect.left;
-        float top = mDrawableRect.top;
-        float right = left + mDrawableRect.width();
-        float bottom = top + mDrawableRect.height();
-        float radius = mCornerRadius;
-        float offset = mBorderWidth / 2;
-
-        if (!mCornersRounded[Corner.TOP_LEFT]) {
-            canvas.drawLine(left - offset, top, left + radius, top, mBorderPaint);
-            canvas.drawLine(left, top - offset, left, top + radius, mBorderPaint);
-        }
-
-        if (!mCornersRounded[Corner.TOP_RIGHT]) {
-            canvas.drawLine(right - radius - offset, top, right, top, mBorderPaint);
-            canvas.drawLine(right, top - offset, right, top + radius, mBorderPaint);
-        }
-
-        if (!mCornersRounded[Corner.BOTTOM_RIGHT]) {
-            canvas.drawLine(right - radius - offset, bottom, right + offset, bottom, mBorderPaint);
-            canvas.drawLine(right, bottom - radius, right, bottom, mBorderPaint);
-        }
-
-        if (!mCornersRounded[Corner.BOTTOM_LEFT]) {
-            canvas.drawLine(left - offset, bottom, left + radius, bottom, mBorderPaint);
-            canvas.drawLine(left, bottom - radius, left, bottom, mBorderPaint);
-        }
-    }
-
     @Override
     public int getOpacity() {
         return PixelFormat.TRANSLUCENT;
@@ -494,6 +578,7 @@ public final class RoundedDrawable extends Drawable {
             mCornersRounded[corner] = true;
         }
 
+        mRebuildGeometry = true;
         return this;
     }
 
@@ -535,6 +620,7 @@ public final class RoundedDrawable extends Drawable {
         mCornersRounded[Corner.TOP_RIGHT] = topRight > 0;
         mCornersRounded[Corner.BOTTOM_RIGHT] = bottomRight > 0;
         mCornersRounded[Corner.BOTTOM_LEFT] = bottomLeft > 0;
+        mRebuildGeometry = true;
         return this;
     }
 
@@ -544,8 +630,11 @@ public final class RoundedDrawable extends Drawable {
 
     @NonNull
     public RoundedDrawable setBorderWidth(float width) {
-        mBorderWidth = width;
-        mBorderPaint.setStrokeWidth(mBorderWidth);
+        if (mBorderWidth != width) {
+            mBorderWidth = width;
+            mBorderPaint.setStrokeWidth(mBorderWidth);
+            mRebuildGeometry = true;
+        }
         return this;
     }
 
@@ -576,7 +665,10 @@ public final class RoundedDrawable extends Drawable {
 
     @NonNull
     public RoundedDrawable setOval(boolean oval) {
-        mOval = oval;
+        if (mOval != oval) {
+            mOval = oval;
+            mRebuildGeometry = true;
+        }
         return this;
     }
 
@@ -595,7 +687,7 @@ public final class RoundedDrawable extends Drawable {
         }
         if (mScaleType != type) {
             mScaleType = type;
-            updateShaderMatrix();
+            mRebuildGeometry = true;
         }
         return this;
     }
@@ -637,26 +729,44 @@ public final class RoundedDrawable extends Drawable {
         return true;
     }
 
-    private static boolean any(boolean[] booleans) {
-        for (boolean b : booleans) {
-            if (b) {
-                return true;
-            }
-        }
-        return false;
+    @Nullable
+    public Bitmap toBitmap() {
+        return drawableToBitmap(this);
     }
 
-    private static boolean all(boolean[] booleans) {
-        for (boolean b : booleans) {
-            if (b) {
+    private static final class RasterKey {
+        private final int resId;
+        // Resources can differ by density and night mode
+        private final int density;
+        private final int uiMode;
+        private final int width;
+        private final int height;
+
+        RasterKey(int resId, @NonNull Configuration configuration, int width, int height) {
+            this.resId = resId;
+            this.density = configuration.densityDpi;
+            this.uiMode = configuration.uiMode;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof RasterKey))
                 return false;
-            }
+
+            RasterKey other = (RasterKey) o;
+            return resId == other.resId && density == other.density && uiMode == other.uiMode
+                    && width == other.width && height == other.height;
         }
-        return true;
-    }
 
-    @Nullable
-    public Bitmap toBitmap() {
-        return drawableToBitmap(this);
+        @Override
+        public int hashCode() {
+            int result = resId;
+            result = 31 * result + density;
+            result = 31 * result + uiMode;
+            result = 31 * result + width;
+            return 31 * result + height;
+        }
     }
 }
@@ -0,0 +1,136 @@
+package com.vansuita.materialabout.views;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.PowerManager;
+import android.provider.Settings;
+import android.view.Choreographer;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Entrance of the links, one after the other. A single frame callback moves every cell along
+ * the same scale curve, overshooting a little before settling, each cell a few milliseconds
+ * after the previous one. Only the scale is animated, so no cell is measured or redrawn.
+ */
+final class StaggerAnimator implements Choreographer.FrameCallback {
+
+    private static final long START_DELAY_MS = 200;
+    private static final long STAGGER_MS = 20;
+    private static final long GROW_MS = 200;
+    private static final long SETTLE_MS = 100;
+    private static final float OVERSHOOT = 1.1f;
+
+    private final List<View> cells = new ArrayList<>();
+    private final float durationScale;
+    private final boolean skip;
+
+    private long startNanos = -1;
+    private boolean running = false;
+
+    StaggerAnimator(@NonNull Context context) {
+        durationScale = durationScale(context);
+        skip = durationScale == 0 || isPowerSaveMode(context);
+    }
+
+    private static float durationScale(Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR1)
+            return 1;
+
+        return Settings.Global.getFloat(context.getContentResolver(), Settings.Global.ANIMATOR_DURATION_SCALE, 1);
+    }
+
+    private static boolean isPowerSaveMode(Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP)
+            return false;
+
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        return powerManager != null && powerManager.isPowerSaveMode();
+    }
+
+    /**
+     * Hides the cell until its turn comes, does nothing when animations are off.
+     */
+    void add(@NonNull View cell) {
+        if (skip)
+            return;
+
+        cell.setScaleX(0);
+        cell.setScaleY(0);
+        cells.add(cell);
+    }
+
+    void start() {
+        if (running || cells.isEmpty())
+            return;
+
+        running = true;
+        startNanos = -1;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    /**
+     * Stops right away and leaves every cell at its final size.
+     */
+    void cancel() {
+        if (running)
+            Choreographer.getInstance().removeFrameCallback(this);
+
+        running = false;
+
+        for (View cell : cells) {
+            cell.setScaleX(1);
+            cell.setScaleY(1);
+        }
+
+        cells.clear();
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running)
+            return;
+
+        if (startNanos < 0)
+            startNanos = frameTimeNanos;
+
+        float elapsed = (frameTimeNanos - startNanos) / 1000000f / durationScale;
+        boolean done = true;
+
+        for (int i = 0; i < cells.size(); i++) {
+            float time = elapsed - START_DELAY_MS - i * STAGGER_MS;
+            float scale = scaleAt(time);
+
+            View cell = cells.get(i);
+            cell.setScaleX(scale);
+            cell.setScaleY(scale);
+
+            if (time < GROW_MS + SETTLE_MS)
+                done = false;
+        }
+
+        if (done) {
+            running = false;
+            cells.clear();
+        } else {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    private static float scaleAt(float time) {
+        if (time <= 0)
+            return 0;
+
+        if (time < GROW_MS)
+            return OVERSHOOT * time / GROW_MS;
+
+        if (time < GROW_MS + SETTLE_MS)
+            return OVERSHOOT - (OVERSHOOT - 1) * (time - GROW_MS) / SETTLE_MS;
+
+        return 1;
+    }
+}
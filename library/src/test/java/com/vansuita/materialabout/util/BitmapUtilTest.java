@@ -0,0 +1,58 @@
+package com.vansuita.materialabout.util;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class BitmapUtilTest {
+
+    private static Bitmap filled(int width, int height, int color) {
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        bitmap.eraseColor(color);
+        return bitmap;
+    }
+
+    @Test
+    public void copiesAreTheSame() {
+        Bitmap a = filled(8, 8, Color.RED);
+        Bitmap b = filled(8, 8, Color.RED);
+
+        assertTrue(BitmapUtil.same(a, b));
+        // Again, from the cached hashes
+        assertTrue(BitmapUtil.same(b, a));
+    }
+
+    @Test
+    public void differentPixelsAreNotTheSame() {
+        Bitmap a = filled(8, 8, Color.RED);
+        Bitmap b = filled(8, 8, Color.RED);
+        b.setPixel(3, 5, Color.BLUE);
+
+        assertFalse(BitmapUtil.same(a, b));
+    }
+
+    @Test
+    public void differentSizesAreNotTheSame() {
+        assertFalse(BitmapUtil.same(filled(8, 8, Color.RED), filled(8, 9, Color.RED)));
+    }
+
+    @Test
+    public void recycledOrMissingAreNotTheSame() {
+        Bitmap a = filled(8, 8, Color.RED);
+        Bitmap b = filled(8, 8, Color.RED);
+        b.recycle();
+
+        assertFalse(BitmapUtil.same(a, b));
+        assertFalse(BitmapUtil.same(a, null));
+        assertTrue(BitmapUtil.same(null, null));
+    }
+}
@@ -0,0 +1,43 @@
+package com.vansuita.materialabout.util;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CoverPaletteTest {
+
+    @Test
+    public void sameResourceSameKey() {
+        assertEquals(CoverPalette.key(null, 42, Color.WHITE), CoverPalette.key(null, 42, Color.WHITE));
+    }
+
+    @Test
+    public void cardColorIsPartOfTheKey() {
+        assertNotEquals(CoverPalette.key(null, 42, Color.WHITE), CoverPalette.key(null, 42, Color.BLACK));
+    }
+
+    @Test
+    public void bitmapsNeverMatchResources() {
+        Bitmap bitmap = Bitmap.createBitmap(8, 8, Bitmap.Config.ARGB_8888);
+        int generation = bitmap.getGenerationId();
+
+        assertNotEquals(CoverPalette.key(bitmap, -1, Color.WHITE), CoverPalette.key(null, generation, Color.WHITE));
+    }
+
+    @Test
+    public void resizedBitmapGetsAnotherKey() {
+        Bitmap small = Bitmap.createBitmap(8, 8, Bitmap.Config.ARGB_8888);
+        Bitmap large = Bitmap.createBitmap(16, 8, Bitmap.Config.ARGB_8888);
+
+        assertNotEquals(CoverPalette.key(small, -1, Color.WHITE), CoverPalette.key(large, -1, Color.WHITE));
+    }
+}
@@ -0,0 +1,113 @@
+package com.vansuita.materialabout.views;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+
+import com.vansuita.materialabout.R;
+import com.vansuita.materialabout.builder.AboutBuilder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class AboutListTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_AppCompat_Light);
+    }
+
+    private AboutView build(boolean app) {
+        View.OnClickListener click = new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+            }
+        };
+
+        AboutBuilder builder = AboutBuilder.with(context)
+                .setName("Your Full Name")
+                .setSubTitle("Just a sub title")
+                .setRenderAsList(true);
+
+        if (app)
+            builder.setAppName("Your App Name");
+
+        for (int i = 0; i < 2; i++) {
+            builder.addLink(R.mipmap.github, "Link " + i, click);
+        }
+        for (int i = 0; i < 3; i++) {
+            builder.addAction(R.mipmap.share, "Action " + i, click);
+        }
+
+        AboutView view = builder.build();
+        view.measure(MeasureSpec.makeMeasureSpec(720, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(1280, MeasureSpec.EXACTLY));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+        return view;
+    }
+
+    private static RecyclerView list(View view) {
+        if (view instanceof RecyclerView)
+            return (RecyclerView) view;
+
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                RecyclerView found = list(group.getChildAt(i));
+                if (found != null)
+                    return found;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void actionsFollowTheAppRow() {
+        RecyclerView.Adapter<?> adapter = list(build(true)).getAdapter();
+
+        assertEquals(1 + 2 + 1 + 3, adapter.getItemCount());
+        assertEquals(AboutListAdapter.TYPE_APP, adapter.getItemViewType(3));
+        assertEquals(AboutListAdapter.TYPE_ACTION, adapter.getItemViewType(4));
+    }
+
+    @Test
+    public void actionsStayWithoutAnApp() {
+        RecyclerView rv = list(build(false));
+        RecyclerView.Adapter<?> adapter = rv.getAdapter();
+
+        assertEquals(1 + 2 + 3, adapter.getItemCount());
+        for (int i = 3; i < adapter.getItemCount(); i++) {
+            assertEquals(AboutListAdapter.TYPE_ACTION, adapter.getItemViewType(i));
+        }
+        assertNotNull(rv.findViewHolderForAdapterPosition(5));
+    }
+
+    @Test
+    public void headerAndAppRowsAreNeverPooled() {
+        RecyclerView rv = list(build(true));
+        RecyclerView.RecycledViewPool pool = rv.getRecycledViewPool();
+
+        pool.putRecycledView(rv.getAdapter().createViewHolder(rv, AboutListAdapter.TYPE_LINK));
+        pool.putRecycledView(rv.getAdapter().createViewHolder(rv, AboutListAdapter.TYPE_HEADER));
+        pool.putRecycledView(rv.getAdapter().createViewHolder(rv, AboutListAdapter.TYPE_APP));
+
+        assertEquals(1, pool.getRecycledViewCount(AboutListAdapter.TYPE_LINK));
+        assertEquals(0, pool.getRecycledViewCount(AboutListAdapter.TYPE_HEADER));
+        assertEquals(0, pool.getRecycledViewCount(AboutListAdapter.TYPE_APP));
+    }
+}
@@ -0,0 +1,149 @@
+package com.vansuita.materialabout.views;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import com.vansuita.materialabout.R;
+import com.vansuita.materialabout.builder.AboutBuilder;
+import com.vansuita.materialabout.builder.Item;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import androidx.cardview.widget.CardView;
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class AboutViewUpdateTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_AppCompat_Light);
+    }
+
+    private static Bitmap decode(int color) {
+        Bitmap bitmap = Bitmap.createBitmap(32, 16, Bitmap.Config.ARGB_8888);
+        bitmap.eraseColor(color);
+        return bitmap;
+    }
+
+    /**
+     * Same content every time, but every item and image is a new instance.
+     */
+    private AboutBuilder builder(String firstLabel) {
+        return AboutBuilder.with(context)
+                .setName("Your Full Name")
+                .setSubTitle("Just a sub title")
+                .setCover(decode(Color.BLUE))
+                .setLinksAnimated(false)
+                .addLink(R.mipmap.github, firstLabel, "https://github.com")
+                .addLink(R.mipmap.twitter, "Twitter", "https://twitter.com")
+                .addAction(decode(Color.RED), "Rate", "https://play.google.com");
+    }
+
+    private static View[] cells(ViewGroup grid) {
+        View[] cells = new View[grid.getChildCount()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = grid.getChildAt(i);
+        }
+        return cells;
+    }
+
+    @Test
+    public void newBuilderKeepsTheCells() {
+        AboutBuilder first = builder("GitHub");
+        AboutView view = first.build();
+        ViewGroup links = view.findViewById(R.id.links);
+        ViewGroup actions = view.findViewById(R.id.actions);
+        View[] linkCells = cells(links);
+        View[] actionCells = cells(actions);
+
+        AboutBuilder second = builder("GitHub");
+        view.update(second);
+
+        assertEquals(linkCells.length, links.getChildCount());
+        for (int i = 0; i < linkCells.length; i++) {
+            assertSame(linkCells[i], links.getChildAt(i));
+            assertSame(linkCells[i], view.findItem(second.getLinks().get(i)));
+            assertNull(view.findItem(first.getLinks().get(i)));
+        }
+
+        assertSame(actionCells[0], actions.getChildAt(0));
+        assertSame(actionCells[0], view.findItem(second.getActions().getFirst()));
+    }
+
+    @Test
+    public void keyedItemKeepsItsCellWhenRelabeled() {
+        AboutBuilder first = builder("GitHub");
+        first.getLinks().getFirst().setKey("github");
+        AboutView view = first.build();
+        ViewGroup links = view.findViewById(R.id.links);
+        View cell = links.getChildAt(0);
+
+        AboutBuilder second = builder("Code");
+        Item github = second.getLinks().getFirst();
+        github.setKey("github");
+        view.update(second);
+
+        assertSame(cell, links.getChildAt(0));
+        assertSame(cell, view.findItem(github));
+        assertEquals("Code", ((TextView) cell.findViewById(R.id.label)).getText().toString());
+    }
+
+    @Test
+    public void findItemFallsBackToTheCard() {
+        AboutView view = builder("GitHub").build();
+        View extra = new View(context);
+        extra.setId(View.generateViewId());
+        ((ViewGroup) view.findViewById(R.id.links)).addView(extra);
+
+        assertSame(extra, view.findItem(extra.getId()));
+    }
+
+    @Test
+    public void coverDecodedAgainIsNotSetAgain() {
+        AboutView view = builder("GitHub").build();
+        ImageView cover = view.findViewById(R.id.cover);
+        Object drawable = cover.getDrawable();
+
+        view.update(builder("GitHub"));
+        assertSame(drawable, cover.getDrawable());
+
+        view.update(builder("GitHub").setCover(decode(Color.GREEN)));
+        assertNotSame(drawable, cover.getDrawable());
+    }
+
+    @Test
+    public void colorsSetBackToZeroReturnToTheTheme() {
+        AboutView view = builder("GitHub").build();
+        TextView name = view.findViewById(R.id.name);
+        CardView card = view.findViewById(R.id.card_holder);
+        int nameColor = name.getCurrentTextColor();
+        int cardColor = card.getCardBackgroundColor().getDefaultColor();
+
+        view.update(builder("GitHub").setNameColor(Color.MAGENTA).setBackgroundColor(Color.DKGRAY));
+        assertEquals(Color.MAGENTA, name.getCurrentTextColor());
+        assertEquals(Color.DKGRAY, card.getCardBackgroundColor().getDefaultColor());
+
+        view.update(builder("GitHub"));
+        assertEquals(nameColor, name.getCurrentTextColor());
+        assertEquals(cardColor, card.getCardBackgroundColor().getDefaultColor());
+    }
+}
@@ -0,0 +1,271 @@
+package com.vansuita.materialabout.views;
+
+import android.content.Context;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class AutoFitGridLayoutTest {
+
+    private static final int CELLS = 6;
+    private static final int WIDTH_SPEC = MeasureSpec.makeMeasureSpec(400, MeasureSpec.EXACTLY);
+    private static final int HEIGHT_SPEC = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+
+    private Context context;
+    private AutoFitGridLayout grid;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        grid = new AutoFitGridLayout(context);
+        grid.setColumnCount(3);
+        for (int i = 0; i < CELLS; i++) {
+            grid.addView(cell(20 + i));
+        }
+    }
+
+    private View cell(int height) {
+        View cell = new View(context);
+        cell.setMinimumHeight(height);
+        return cell;
+    }
+
+    private void layout(int widthSpec) {
+        grid.measure(widthSpec, HEIGHT_SPEC);
+        grid.layout(0, 0, grid.getMeasuredWidth(), grid.getMeasuredHeight());
+    }
+
+    // Asks the grid alone for a new pass, the way an ancestor's layout would
+    private void relayout() {
+        grid.forceLayout();
+        layout(WIDTH_SPEC);
+    }
+
+    @Test
+    public void firstPassMeasuresEveryCell() {
+        layout(WIDTH_SPEC);
+
+        assertEquals(CELLS, grid.getMeasureCount());
+    }
+
+    @Test
+    public void sameSpecDoesNotMeasureCellsAgain() {
+        layout(WIDTH_SPEC);
+        int measured = grid.getMeasureCount();
+
+        for (int i = 0; i < 10; i++) {
+            relayout();
+        }
+
+        assertEquals(measured, grid.getMeasureCount());
+    }
+
+    @Test
+    public void onlyTheCellAskingIsMeasuredAgain() {
+        layout(WIDTH_SPEC);
+        int measured = grid.getMeasureCount();
+
+        grid.getChildAt(4).requestLayout();
+        layout(WIDTH_SPEC);
+
+        assertEquals(measured + 1, grid.getMeasureCount());
+    }
+
+    @Test
+    public void newWidthMeasuresEveryCell() {
+        layout(WIDTH_SPEC);
+        int measured = grid.getMeasureCount();
+
+        grid.forceLayout();
+        layout(MeasureSpec.makeMeasureSpec(300, MeasureSpec.EXACTLY));
+
+        assertEquals(measured + CELLS, grid.getMeasureCount());
+    }
+
+    @Test
+    public void uniformCellsMeasureOnlyTheFirstAgain() {
+        grid.setUniformCells(true);
+        layout(WIDTH_SPEC);
+        int measured = grid.getMeasureCount();
+
+        grid.getChildAt(0).requestLayout();
+        layout(WIDTH_SPEC);
+
+        assertEquals(measured + 1, grid.getMeasureCount());
+    }
+
+    @Test
+    public void steadyLayoutsAfterChangesMeasureNoCell() {
+        layout(WIDTH_SPEC);
+        grid.removeViewAt(CELLS - 1);
+        layout(WIDTH_SPEC);
+        grid.addView(cell(20));
+        layout(WIDTH_SPEC);
+        grid.getChildAt(2).setVisibility(View.GONE);
+        layout(WIDTH_SPEC);
+        grid.getChildAt(2).setVisibility(View.VISIBLE);
+        layout(WIDTH_SPEC);
+        int measured = grid.getMeasureCount();
+
+        for (int i = 0; i < 50; i++) {
+            relayout();
+        }
+
+        assertEquals(measured, grid.getMeasureCount());
+    }
+
+    @Test
+    public void minCellWidthFitsAsManyColumnsAsItCan() {
+        grid.setMinCellWidth(120);
+
+        layout(WIDTH_SPEC);
+        assertEquals(3, grid.getColumnCount());
+        assertEquals(0, grid.getChildAt(3).getLeft());
+
+        grid.forceLayout();
+        layout(MeasureSpec.makeMeasureSpec(250, MeasureSpec.EXACTLY));
+        assertEquals(2, grid.getColumnCount());
+        assertEquals(0, grid.getChildAt(2).getLeft());
+        assertTrue(grid.getChildAt(2).getTop() > 0);
+
+        grid.setMinCellWidth(0);
+        grid.forceLayout();
+        layout(WIDTH_SPEC);
+        assertEquals(3, grid.getColumnCount());
+    }
+
+    @Test
+    public void batchedCellsAskForOneLayout() {
+        layout(WIDTH_SPEC);
+        List<View> cells = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            cells.add(cell(30));
+        }
+
+        grid.beginBatch();
+        for (View cell : cells) {
+            grid.addView(cell);
+        }
+        assertFalse(grid.isLayoutRequested());
+        grid.endBatch();
+        assertTrue(grid.isLayoutRequested());
+
+        layout(WIDTH_SPEC);
+        assertEquals(CELLS + 3, grid.getChildCount());
+        // A third row, as tall as its cells
+        assertEquals(cells.get(0).getBottom(), grid.getMeasuredHeight());
+        assertEquals(30, cells.get(2).getHeight());
+    }
+
+    @Test
+    public void addViewsAddsThemAll() {
+        grid.addViews(Arrays.asList(cell(30), cell(30)));
+
+        assertTrue(grid.isLayoutRequested());
+        layout(WIDTH_SPEC);
+        assertEquals(CELLS + 2, grid.getChildCount());
+        assertEquals(CELLS + 2, grid.getMeasureCount());
+    }
+
+    @Test
+    public void spannedCellsTakeTheirColumns() {
+        grid.removeAllViews();
+        for (int i = 0; i < 4; i++) {
+            View cell = cell(20);
+            AutoFitGridLayout.LayoutParams params = new AutoFitGridLayout.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+            params.span = i == 1 ? 2 : i == 2 ? 5 : 1;
+            grid.addView(cell, params);
+        }
+
+        layout(WIDTH_SPEC);
+
+        View single = grid.getChildAt(0);
+        View spanned = grid.getChildAt(1);
+        View tooWide = grid.getChildAt(2);
+        View next = grid.getChildAt(3);
+
+        // 1 + 2 columns on the first row
+        assertEquals(single.getRight(), spanned.getLeft());
+        assertEquals(2 * single.getWidth(), spanned.getWidth());
+        assertEquals(0, spanned.getTop());
+
+        // More columns than there are is clamped to a whole row
+        assertEquals(0, tooWide.getLeft());
+        assertEquals(3 * single.getWidth(), tooWide.getWidth());
+
+        assertEquals(0, next.getLeft());
+        assertEquals(tooWide.getBottom(), next.getTop());
+    }
+
+    @Test
+    public void uniformCellsGetTheSameWidthsWithPadding() {
+        grid.setPadding(10, 0, 10, 0);
+        layout(WIDTH_SPEC);
+        int[] widths = new int[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            widths[i] = grid.getChildAt(i).getMeasuredWidth();
+        }
+
+        grid.setUniformCells(true);
+        layout(WIDTH_SPEC);
+
+        for (int i = 0; i < CELLS; i++) {
+            assertEquals("cell " + i, widths[i], grid.getChildAt(i).getMeasuredWidth());
+        }
+    }
+
+    @Test
+    public void removingTheLastCellDropsIt() {
+        layout(WIDTH_SPEC);
+        View last = grid.getChildAt(CELLS - 1);
+
+        grid.removeView(last);
+        layout(WIDTH_SPEC);
+
+        // The second row loses its tallest cell: 22 + 25 becomes 22 + 24
+        assertEquals(22 + 24, grid.getMeasuredHeight());
+        assertEquals(CELLS + CELLS - 1, grid.getMeasureCount());
+    }
+
+    @Test
+    public void removingAMiddleCellReflowsTheRest() {
+        layout(WIDTH_SPEC);
+        View second = grid.getChildAt(1);
+        int left = second.getLeft();
+        View third = grid.getChildAt(2);
+
+        grid.removeViewAt(1);
+        layout(WIDTH_SPEC);
+
+        assertEquals(left, third.getLeft());
+    }
+
+    @Test
+    public void removingEveryCellLeavesAnEmptyGrid() {
+        layout(WIDTH_SPEC);
+
+        grid.removeAllViews();
+        layout(WIDTH_SPEC);
+
+        assertEquals(0, grid.getMeasuredHeight());
+    }
+}
@@ -0,0 +1,70 @@
+package com.vansuita.materialabout.views;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.Rect;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class DividerDrawableTest {
+
+    private static final int HEIGHT = 4;
+
+    private Context context;
+    private float density;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        density = context.getResources().getDisplayMetrics().density;
+    }
+
+    /**
+     * Where the old layer-list drew its top stroke: a rectangle outset by 1dp on top and 20dp on
+     * the sides, stroked inside its edges.
+     */
+    @Test
+    public void lineFollowsTheOldLayerList() {
+        DividerDrawable divider = DividerDrawable.get(context.getResources(), Color.GRAY, HEIGHT, 15, 15);
+        divider.setBounds(10, 30, 310, 80);
+
+        DrawOpCanvas canvas = new DrawOpCanvas(400, 100);
+        divider.draw(canvas);
+
+        int top = 30 - Math.round(density);
+        int side = Math.round(20 * density);
+        float half = HEIGHT / 2f;
+
+        assertEquals(1, canvas.lines.size());
+        float[] line = canvas.lines.get(0);
+        assertEquals(10 - side + half, line[0], 0f);
+        assertEquals(top + half, line[1], 0f);
+        assertEquals(310 + side - half, line[2], 0f);
+        assertEquals(top + half, line[3], 0f);
+
+        // Cut to the bounds, as the old background was cut to its view
+        assertEquals(1, canvas.clips.size());
+        assertEquals(new Rect(10, 30, 310, 80), canvas.clips.get(0));
+    }
+
+    @Test
+    public void zeroHeightDrawsNothing() {
+        DividerDrawable divider = DividerDrawable.get(context.getResources(), Color.GRAY, 0, 15, 15);
+        divider.setBounds(0, 0, 300, 50);
+
+        DrawOpCanvas canvas = new DrawOpCanvas(300, 50);
+        divider.draw(canvas);
+
+        assertEquals(0, canvas.ops.size());
+    }
+}
@@ -0,0 +1,128 @@
+package com.vansuita.materialabout.views;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Canvas recording the draw calls made on it, so tests can tell how much a view or a
+ * drawable draws per frame.
+ */
+class DrawOpCanvas extends Canvas {
+
+    final List<String> ops = new ArrayList<>();
+    final List<Path> paths = new ArrayList<>();
+    final List<Rect> clips = new ArrayList<>();
+    final List<float[]> lines = new ArrayList<>();
+
+    DrawOpCanvas(int width, int height) {
+        super(Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888));
+    }
+
+    int count(String op) {
+        int count = 0;
+        for (String recorded : ops) {
+            if (recorded.equals(op))
+                count++;
+        }
+        return count;
+    }
+
+    void reset() {
+        ops.clear();
+        paths.clear();
+        clips.clear();
+        lines.clear();
+    }
+
+    @Override
+    public boolean clipRect(Rect rect) {
+        clips.add(new Rect(rect));
+        return super.clipRect(rect);
+    }
+
+    @Override
+    public boolean clipRect(int left, int top, int right, int bottom) {
+        clips.add(new Rect(left, top, right, bottom));
+        return super.clipRect(left, top, right, bottom);
+    }
+
+    @Override
+    public boolean clipRect(float left, float top, float right, float bottom) {
+        clips.add(new Rect((int) left, (int) top, (int) right, (int) bottom));
+        return super.clipRect(left, top, right, bottom);
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        ops.add("drawPath");
+        paths.add(path);
+    }
+
+    @Override
+    public void drawOval(RectF oval, Paint paint) {
+        ops.add("drawOval");
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        ops.add("drawRect");
+    }
+
+    @Override
+    public void drawRect(Rect rect, Paint paint) {
+        ops.add("drawRect");
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        ops.add("drawRect");
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        ops.add("drawRoundRect");
+    }
+
+    @Override
+    public void drawRoundRect(float left, float top, float right, float bottom, float rx, float ry, Paint paint) {
+        ops.add("drawRoundRect");
+    }
+
+    @Override
+    public void drawColor(int color) {
+        ops.add("drawColor");
+    }
+
+    @Override
+    public void drawPaint(Paint paint) {
+        ops.add("drawPaint");
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        ops.add("drawBitmap");
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        ops.add("drawBitmap");
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        ops.add("drawBitmap");
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        ops.add("drawLine");
+        lines.add(new float[]{startX, startY, stopX, stopY});
+    }
+}
@@ -0,0 +1,96 @@
+package com.vansuita.materialabout.views;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.os.SystemClock;
+import android.view.ContextThemeWrapper;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.View.MeasureSpec;
+
+import com.vansuita.materialabout.R;
+import com.vansuita.materialabout.builder.Item;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class FlatGridViewTest {
+
+    private static final String LONG_LABEL = "A label long enough to wrap in a single cell";
+
+    private Context context;
+    private Bitmap icon;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_AppCompat_Light);
+        icon = Bitmap.createBitmap(24, 24, Bitmap.Config.ARGB_8888);
+    }
+
+    private FlatGridView grid(Item... items) {
+        FlatGridView grid = new FlatGridView(context);
+        grid.setColumnCount(3);
+        grid.setItems(Arrays.asList(items));
+        grid.measure(MeasureSpec.makeMeasureSpec(720, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+        grid.layout(0, 0, grid.getMeasuredWidth(), grid.getMeasuredHeight());
+        return grid;
+    }
+
+    private static boolean touch(View view, int action, float x, float y) {
+        long now = SystemClock.uptimeMillis();
+        MotionEvent event = MotionEvent.obtain(now, now, action, x, y, 0);
+        boolean handled = view.dispatchTouchEvent(event);
+        event.recycle();
+        return handled;
+    }
+
+    @Test
+    public void tapClicksThroughPerformClick() {
+        final int[] clicks = new int[2];
+        Item item = new Item(icon, "Link", new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                clicks[0]++;
+            }
+        });
+
+        FlatGridView grid = grid(item);
+        grid.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                clicks[1]++;
+            }
+        });
+
+        touch(grid, MotionEvent.ACTION_DOWN, 10, 10);
+        touch(grid, MotionEvent.ACTION_UP, 10, 10);
+
+        assertEquals(1, clicks[0]);
+        assertEquals(1, clicks[1]);
+    }
+
+    @Test
+    public void spannedLabelUsesTheWholeSpan() {
+        Item single = new Item(icon, LONG_LABEL, null);
+        Item spanned = new Item(icon, LONG_LABEL, null);
+        spanned.setSpan(3);
+
+        int singleHeight = grid(single).getMeasuredHeight();
+        int spannedHeight = grid(spanned).getMeasuredHeight();
+
+        assertTrue("spanned " + spannedHeight + " vs single " + singleHeight, spannedHeight < singleHeight);
+    }
+}
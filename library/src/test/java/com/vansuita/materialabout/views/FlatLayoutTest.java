@@ -0,0 +1,147 @@
+package com.vansuita.materialabout.views;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+
+import com.vansuita.materialabout.R;
+import com.vansuita.materialabout.builder.AboutBuilder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class FlatLayoutTest {
+
+    private static final int WIDTH_SPEC = MeasureSpec.makeMeasureSpec(720, MeasureSpec.EXACTLY);
+    private static final int HEIGHT_SPEC = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+
+    private Context context;
+    private float density;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_AppCompat_Light);
+        density = context.getResources().getDisplayMetrics().density;
+    }
+
+    private AboutView build(boolean flat, boolean appIcon) {
+        Bitmap icon = Bitmap.createBitmap(24, 24, Bitmap.Config.ARGB_8888);
+        View.OnClickListener click = new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+            }
+        };
+
+        AboutBuilder builder = AboutBuilder.with(context)
+                .setName("Your Full Name")
+                .setSubTitle("Just a sub title")
+                .setBrief("This is as short message saying who you are and what you like to do.")
+                .setAppName("Your App Name")
+                .setAppTitle("Just a sub title")
+                .setFlatLayout(flat);
+
+        if (appIcon)
+            builder.setAppIcon(icon);
+
+        for (int i = 0; i < 6; i++) {
+            builder.addLink(icon, "Link " + i, click);
+            builder.addAction(icon, "Action " + i, click);
+        }
+
+        AboutView view = builder.build();
+        layout(view);
+        return view;
+    }
+
+    private static void layout(View view) {
+        view.measure(WIDTH_SPEC, HEIGHT_SPEC);
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    }
+
+    private static int depth(View view) {
+        int depth = 0;
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                depth = Math.max(depth, depth(group.getChildAt(i)));
+            }
+        }
+        return depth + 1;
+    }
+
+    private static int topIn(View view, View ancestor) {
+        int top = 0;
+        for (View v = view; v != ancestor; v = (View) v.getParent()) {
+            top += v.getTop();
+        }
+        return top;
+    }
+
+    @Test
+    public void flatCardIsShallower() {
+        int nested = depth(build(false, true));
+        int flat = depth(build(true, true));
+
+        assertTrue("flat " + flat + " vs nested " + nested, flat < nested);
+        // AboutView, card, constraint layout, grid, cell and its views
+        assertTrue("flat depth " + flat, flat <= 6);
+    }
+
+    @Test
+    public void appTextsKeepTheirOffsetWithoutIcon() {
+        for (boolean flat : new boolean[]{false, true}) {
+            AboutView view = build(flat, false);
+            View holder = view.findViewById(R.id.app_holder);
+            View name = view.findViewById(R.id.app_name);
+
+            assertEquals(View.GONE, view.findViewById(R.id.app_icon).getVisibility());
+            assertEquals("flat " + flat, Math.round(20 * density), topIn(name, view) - topIn(holder, view));
+        }
+    }
+
+    @Test
+    public void actionsStayBelowTheAppBlock() {
+        for (boolean appIcon : new boolean[]{false, true}) {
+            AboutView view = build(true, appIcon);
+            View actions = view.findViewById(R.id.actions);
+            View title = view.findViewById(R.id.app_title);
+            View icon = view.findViewById(R.id.app_icon);
+
+            int bottom = topIn(title, view) + title.getHeight();
+            if (appIcon)
+                bottom = Math.max(bottom, topIn(icon, view) + icon.getHeight());
+
+            assertEquals("icon " + appIcon, bottom + Math.round(10 * density), topIn(actions, view));
+        }
+    }
+
+    @Test
+    public void briefKeepsItsBottomSpacingWithoutLinks() {
+        AboutView view = AboutBuilder.with(context)
+                .setName("Your Full Name")
+                .setSubTitle("Just a sub title")
+                .setBrief("This is as short message saying who you are and what you like to do.")
+                .setAppName("Your App Name")
+                .setFlatLayout(true)
+                .build();
+        layout(view);
+
+        View brief = view.findViewById(R.id.brief);
+        View holder = view.findViewById(R.id.app_holder);
+
+        assertEquals(topIn(brief, view) + brief.getHeight() + Math.round(5 * density), topIn(holder, view));
+    }
+}
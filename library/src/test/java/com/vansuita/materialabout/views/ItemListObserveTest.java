@@ -0,0 +1,128 @@
+package com.vansuita.materialabout.views;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.ViewGroup;
+
+import com.vansuita.materialabout.R;
+import com.vansuita.materialabout.builder.AboutBuilder;
+import com.vansuita.materialabout.builder.ItemList;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ItemListObserveTest {
+
+    private Context context;
+    private ViewGroup content;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_AppCompat_Light);
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        content = activity.findViewById(android.R.id.content);
+    }
+
+    private AboutBuilder builder() {
+        return AboutBuilder.with(context)
+                .setName("Your Full Name")
+                .setSubTitle("Just a sub title")
+                .setLinksAnimated(false)
+                .addLink(R.mipmap.github, "GitHub", "https://github.com")
+                .addLink(R.mipmap.twitter, "Twitter", "https://twitter.com");
+    }
+
+    private static int listeners(ItemList items) throws Exception {
+        Field field = ItemList.class.getDeclaredField("listeners");
+        field.setAccessible(true);
+        List<?> listeners = (List<?>) field.get(items);
+        return listeners == null ? 0 : listeners.size();
+    }
+
+    @Test
+    public void listensOnlyWhileAttached() throws Exception {
+        AboutBuilder builder = builder();
+        AboutView view = builder.build();
+        assertEquals(0, listeners(builder.getLinkList()));
+
+        content.addView(view);
+        assertEquals(1, listeners(builder.getLinkList()));
+        assertEquals(1, listeners(builder.getActionList()));
+
+        content.removeView(view);
+        assertEquals(0, listeners(builder.getLinkList()));
+        assertEquals(0, listeners(builder.getActionList()));
+    }
+
+    @Test
+    public void itemsAddedWhileAttachedShowUp() {
+        AboutBuilder builder = builder();
+        AboutView view = builder.build();
+        content.addView(view);
+        ViewGroup links = view.findViewById(R.id.links);
+
+        builder.addLink(R.mipmap.youtube, "YouTube", "https://youtube.com");
+        ShadowLooper.idleMainLooper();
+
+        assertEquals(3, links.getChildCount());
+        assertTrue(view.findItem(builder.getLinks().getLast()) != null);
+    }
+
+    @Test
+    public void itemsChangedWhileDetachedShowUpOnAttach() {
+        AboutBuilder builder = builder();
+        AboutView view = builder.build();
+        content.addView(view);
+        ViewGroup links = view.findViewById(R.id.links);
+
+        content.removeView(view);
+        builder.getLinks().removeFirst();
+        ShadowLooper.idleMainLooper();
+        assertEquals(2, links.getChildCount());
+
+        content.addView(view);
+        ShadowLooper.idleMainLooper();
+        assertEquals(1, links.getChildCount());
+    }
+
+    @Test
+    public void itemsAddedBeforeTheFirstAttachShowUp() {
+        AboutBuilder builder = builder();
+        AboutView view = builder.build();
+        builder.addLink(R.mipmap.youtube, "YouTube", "https://youtube.com");
+
+        content.addView(view);
+        ShadowLooper.idleMainLooper();
+
+        ViewGroup links = view.findViewById(R.id.links);
+        assertEquals(3, links.getChildCount());
+    }
+
+    @Test
+    public void changeCountFollowsReportedChanges() {
+        ItemList items = builder().getLinkList();
+        int count = items.getChangeCount();
+
+        items.removeFirst();
+        items.clear();
+        items.clear();
+
+        assertEquals(count + 2, items.getChangeCount());
+    }
+}
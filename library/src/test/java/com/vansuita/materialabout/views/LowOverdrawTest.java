@@ -0,0 +1,119 @@
+package com.vansuita.materialabout.views;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.RippleDrawable;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.View.MeasureSpec;
+
+import com.vansuita.materialabout.R;
+import com.vansuita.materialabout.builder.AboutBuilder;
+import com.vansuita.materialabout.util.RippleUtil;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class LowOverdrawTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_AppCompat_Light);
+    }
+
+    private AboutView build(boolean lowOverdraw, boolean opaqueCover) {
+        Bitmap cover = Bitmap.createBitmap(64, 32, Bitmap.Config.ARGB_8888);
+        cover.setHasAlpha(!opaqueCover);
+        Bitmap icon = Bitmap.createBitmap(24, 24, Bitmap.Config.ARGB_8888);
+
+        AboutBuilder builder = AboutBuilder.with(context)
+                .setName("Your Full Name")
+                .setSubTitle("Just a sub title")
+                .setCover(cover)
+                .setLowOverdraw(lowOverdraw);
+
+        for (int i = 0; i < 4; i++) {
+            builder.addLink(icon, "Link " + i, (View.OnClickListener) null);
+        }
+
+        AboutView view = builder.build();
+        view.measure(MeasureSpec.makeMeasureSpec(720, MeasureSpec.EXACTLY), MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+        return view;
+    }
+
+    private static int restOps(Drawable background) {
+        DrawOpCanvas canvas = new DrawOpCanvas(100, 100);
+        background.setBounds(0, 0, 100, 100);
+        background.draw(canvas);
+        return canvas.ops.size();
+    }
+
+    @Test
+    public void maskedRipplesAreCachedApart() {
+        Drawable masked = RippleUtil.getMaskedRippleDrawable(Color.WHITE);
+        Drawable normal = RippleUtil.getAdaptiveRippleDrawable(Color.WHITE);
+
+        assertNotSame(masked.getConstantState(), normal.getConstantState());
+        assertTrue(((RippleDrawable) masked).findDrawableByLayerId(android.R.id.mask) instanceof ColorDrawable);
+        assertFalse(((RippleDrawable) normal).findDrawableByLayerId(android.R.id.mask) instanceof ColorDrawable);
+    }
+
+    @Test
+    @Config(sdk = 19)
+    public void maskedCellsDrawNothingAtRest() {
+        assertEquals(1, restOps(RippleUtil.getAdaptiveRippleDrawable(Color.WHITE)));
+        assertEquals(0, restOps(RippleUtil.getMaskedRippleDrawable(Color.WHITE)));
+    }
+
+    @Test
+    public void cardIsNotFilledBeneathAnOpaqueCover() {
+        AboutView view = build(true, true);
+        View card = view.findViewById(R.id.card_holder);
+        View cover = view.findViewById(R.id.cover);
+
+        assertTrue(card.getBackground() instanceof CardBackgroundDrawable);
+        CardBackgroundDrawable background = (CardBackgroundDrawable) card.getBackground();
+        int covered = background.getCoveredHeight();
+        assertTrue(covered >= cover.getBottom());
+
+        DrawOpCanvas canvas = new DrawOpCanvas(card.getWidth(), card.getHeight());
+        background.draw(canvas);
+
+        assertEquals(1, canvas.clips.size());
+        assertEquals(covered, canvas.clips.get(0).top);
+        assertEquals(1, canvas.ops.size());
+    }
+
+    @Test
+    public void cardIsFilledBeneathATranslucentCover() {
+        AboutView view = build(true, false);
+        CardBackgroundDrawable background = (CardBackgroundDrawable) view.findViewById(R.id.card_holder).getBackground();
+
+        assertEquals(0, background.getCoveredHeight());
+    }
+
+    @Test
+    public void cardKeepsItsBackgroundByDefault() {
+        AboutView view = build(false, true);
+
+        assertFalse(view.findViewById(R.id.card_holder).getBackground() instanceof CardBackgroundDrawable);
+    }
+}
@@ -0,0 +1,117 @@
+package com.vansuita.materialabout.views;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.GradientDrawable;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import com.vansuita.materialabout.R;
+import com.vansuita.materialabout.builder.AboutBuilder;
+import com.vansuita.materialabout.util.BitmapPool;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import androidx.core.content.ContextCompat;
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class RasterCacheTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        BitmapPool.clear();
+    }
+
+    private static Bitmap bitmapOf(Drawable drawable) {
+        return ((RoundedDrawable) drawable).getSourceBitmap();
+    }
+
+    @Test
+    public void sameResourceSharesOneBitmap() {
+        Resources res = context.getResources();
+        Drawable first = RoundedDrawable.fromResource(res, R.drawable.circular_shape,
+                ContextCompat.getDrawable(context, R.drawable.circular_shape), 20, 20);
+        Drawable second = RoundedDrawable.fromResource(res, R.drawable.circular_shape,
+                ContextCompat.getDrawable(context, R.drawable.circular_shape), 20, 20);
+
+        assertSame(bitmapOf(first), bitmapOf(second));
+    }
+
+    @Test
+    public void mutatedDrawablesAreNotCached() {
+        GradientDrawable shape = new GradientDrawable();
+        shape.setColor(Color.RED);
+        Drawable red = RoundedDrawable.fromDrawable(shape, 20, 20);
+
+        shape.setColor(Color.BLUE);
+        Drawable blue = RoundedDrawable.fromDrawable(shape, 20, 20);
+
+        assertNotSame(bitmapOf(red), bitmapOf(blue));
+        assertTrue(bitmapOf(blue).getPixel(10, 10) != bitmapOf(red).getPixel(10, 10));
+    }
+
+    @Test
+    public void replacedImageGoesBackToThePool() {
+        CircleImageView view = new CircleImageView(context);
+        view.setImageDrawable(new GradientDrawable());
+        Bitmap old = bitmapOf(view.getDrawable());
+
+        view.setImageDrawable(new GradientDrawable());
+
+        assertSame(old, BitmapPool.get(old.getWidth(), old.getHeight()));
+    }
+
+    @Test
+    public void imageMarkedSharedIsNotPooled() {
+        CircleImageView view = new CircleImageView(context);
+        view.setImageDrawable(new GradientDrawable());
+        Drawable kept = view.getDrawable();
+        RoundedDrawable.markShared(kept);
+        Bitmap old = bitmapOf(kept);
+
+        view.setImageDrawable(new GradientDrawable());
+
+        assertNotSame(old, BitmapPool.get(old.getWidth(), old.getHeight()));
+    }
+
+    @Test
+    public void rasterKeepsTheAspectRatio() {
+        GradientDrawable shape = new GradientDrawable();
+        shape.setSize(40, 20);
+
+        Bitmap bitmap = bitmapOf(RoundedDrawable.fromDrawable(shape, 100, 100));
+
+        assertEquals(100, bitmap.getWidth());
+        assertEquals(50, bitmap.getHeight());
+    }
+
+    @Test
+    public void circularPhotoUsesTheRoundedView() {
+        Context themed = new ContextThemeWrapper(context, R.style.Theme_AppCompat_Light);
+        Bitmap photo = Bitmap.createBitmap(30, 30, Bitmap.Config.ARGB_8888);
+
+        AboutView view = AboutBuilder.with(themed).setName("Name").setPhoto(photo).build();
+        View image = view.findViewById(R.id.photo);
+
+        assertTrue(image instanceof CircleImageView);
+        assertTrue(((CircleImageView) image).getDrawable() instanceof RoundedDrawable);
+        assertSame(photo, bitmapOf(((CircleImageView) image).getDrawable()));
+    }
+}
@@ -0,0 +1,115 @@
+package com.vansuita.materialabout.views;
+
+import android.graphics.Bitmap;
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.widget.ImageView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class RoundedDrawableTest {
+
+    private RoundedDrawable drawable;
+    private DrawOpCanvas canvas;
+
+    @Before
+    public void setUp() {
+        drawable = new RoundedDrawable(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+        drawable.setScaleType(ImageView.ScaleType.FIT_XY);
+        drawable.setBounds(0, 0, 100, 100);
+        canvas = new DrawOpCanvas(200, 200);
+    }
+
+    @Test
+    public void roundedCornersDrawOnePath() {
+        drawable.setCornerRadius(0, 10, 20, 0);
+        drawable.draw(canvas);
+
+        assertEquals(1, canvas.ops.size());
+        assertEquals(1, canvas.count("drawPath"));
+    }
+
+    @Test
+    public void borderAddsOneStroke() {
+        drawable.setCornerRadius(10).setBorderWidth(2);
+        drawable.draw(canvas);
+
+        assertEquals(2, canvas.count("drawPath"));
+        assertEquals(2, canvas.ops.size());
+    }
+
+    @Test
+    public void squareCornersDrawOneRect() {
+        drawable.setCornerRadius(0);
+        drawable.draw(canvas);
+
+        assertEquals(1, canvas.ops.size());
+        assertEquals(1, canvas.count("drawRect"));
+    }
+
+    @Test
+    public void ovalDrawsOneOval() {
+        drawable.setOval(true);
+        drawable.draw(canvas);
+
+        assertEquals(1, canvas.ops.size());
+        assertEquals(1, canvas.count("drawOval"));
+    }
+
+    @Test
+    public void pathIsReusedAcrossRadiusAndBoundsChanges() {
+        drawable.setCornerRadius(10);
+        drawable.draw(canvas);
+        Path path = canvas.paths.get(0);
+
+        drawable.setCornerRadius(24, 0, 24, 0);
+        drawable.draw(canvas);
+        drawable.setBounds(0, 0, 150, 80);
+        drawable.draw(canvas);
+        drawable.setCornerRadius(5);
+        drawable.setBounds(10, 10, 60, 60);
+        drawable.draw(canvas);
+
+        assertEquals(4, canvas.paths.size());
+        for (Path drawn : canvas.paths) {
+            assertSame(path, drawn);
+        }
+    }
+
+    @Test
+    public void geometryFollowsTheBounds() {
+        drawable.setCornerRadius(10);
+        drawable.setBounds(0, 0, 150, 80);
+        drawable.draw(canvas);
+
+        RectF drawn = new RectF();
+        canvas.paths.get(0).computeBounds(drawn, true);
+        assertEquals(0, drawn.left, 0.5f);
+        assertEquals(0, drawn.top, 0.5f);
+        assertEquals(150, drawn.right, 0.5f);
+        assertEquals(80, drawn.bottom, 0.5f);
+    }
+
+    @Test
+    public void unchangedFramesDrawTheSame() {
+        drawable.setCornerRadius(10);
+        drawable.draw(canvas);
+        int first = canvas.ops.size();
+
+        canvas.reset();
+        for (int i = 0; i < 100; i++) {
+            drawable.draw(canvas);
+        }
+
+        assertEquals(first * 100, canvas.ops.size());
+    }
+}
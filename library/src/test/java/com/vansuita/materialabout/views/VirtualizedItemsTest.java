@@ -0,0 +1,102 @@
+package com.vansuita.materialabout.views;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+
+import com.vansuita.materialabout.R;
+import com.vansuita.materialabout.builder.AboutBuilder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class VirtualizedItemsTest {
+
+    private static final int ITEMS = 300;
+    private static final int WIDTH_SPEC = MeasureSpec.makeMeasureSpec(720, MeasureSpec.EXACTLY);
+    private static final int HEIGHT = 1280;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_AppCompat_Light);
+    }
+
+    private AboutView build(boolean actions) {
+        View.OnClickListener click = new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+            }
+        };
+
+        AboutBuilder builder = AboutBuilder.with(context)
+                .setName("Your Full Name")
+                .setSubTitle("Just a sub title")
+                .setAppName("Your App Name")
+                .setWrapScrollView(true)
+                .setVirtualizedItems(true);
+
+        for (int i = 0; i < ITEMS; i++) {
+            builder.addLink(R.mipmap.github, "Contributor " + i, click);
+        }
+
+        if (actions)
+            builder.addAction(R.mipmap.share, "Share", click);
+
+        return builder.build();
+    }
+
+    private static void layout(View view, int heightSpec) {
+        view.measure(WIDTH_SPEC, heightSpec);
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    }
+
+    private static RecyclerView recycled(AboutView view, int section) {
+        ViewGroup grid = view.findViewById(section);
+        return (RecyclerView) grid.getChildAt(0);
+    }
+
+    @Test
+    public void boundedCardInflatesOnlyTheCellsOnScreen() {
+        AboutView view = build(true);
+        layout(view, MeasureSpec.makeMeasureSpec(HEIGHT, MeasureSpec.AT_MOST));
+
+        RecyclerView links = recycled(view, R.id.links);
+        assertTrue(links.getChildCount() > 0);
+        assertTrue(links.getChildCount() < links.getAdapter().getItemCount());
+        assertTrue(view.getMeasuredHeight() <= HEIGHT);
+    }
+
+    @Test
+    public void shortSectionLeavesItsShareToTheOther() {
+        AboutView view = build(true);
+        layout(view, MeasureSpec.makeMeasureSpec(HEIGHT, MeasureSpec.EXACTLY));
+
+        RecyclerView actions = recycled(view, R.id.actions);
+        assertEquals(actions.getAdapter().getItemCount(), actions.getChildCount());
+        assertTrue(recycled(view, R.id.links).getChildCount() < ITEMS);
+    }
+
+    @Test
+    public void unboundedCardLaysOutEveryCell() {
+        AboutView view = build(false);
+        layout(view, MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+
+        RecyclerView links = recycled(view, R.id.links);
+        assertEquals(links.getAdapter().getItemCount(), links.getChildCount());
+    }
+}